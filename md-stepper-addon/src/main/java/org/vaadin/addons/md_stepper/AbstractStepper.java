@@ -1,8 +1,11 @@
 package org.vaadin.addons.md_stepper;
 
+import com.vaadin.shared.Registration;
 import com.vaadin.ui.Button;
 import com.vaadin.ui.Component;
 import com.vaadin.ui.CustomComponent;
+import com.vaadin.ui.UI;
+import com.vaadin.ui.UIDetachedException;
 import com.vaadin.ui.declarative.DesignAttributeHandler;
 import com.vaadin.ui.declarative.DesignContext;
 
@@ -12,17 +15,34 @@ import org.vaadin.addons.md_stepper.event.StepperCompleteListener;
 import org.vaadin.addons.md_stepper.event.StepperCompleteListener.StepperCompleteEvent;
 import org.vaadin.addons.md_stepper.event.StepperErrorListener;
 import org.vaadin.addons.md_stepper.event.StepperErrorListener.StepperErrorEvent;
+import org.vaadin.addons.md_stepper.event.StepperErrorListener.StepperErrorsEvent;
 import org.vaadin.addons.md_stepper.event.StepperFeedbackListener;
 import org.vaadin.addons.md_stepper.event.StepperFeedbackListener.StepperFeedbackEvent;
 import org.vaadin.addons.md_stepper.event.StepperNotifier;
 import org.vaadin.addons.md_stepper.iterator.ElementChangeListener;
+import org.vaadin.addons.md_stepper.util.ButtonUtils;
+import org.vaadin.addons.md_stepper.util.ExecutorUtils;
+import org.vaadin.addons.md_stepper.util.ListenerRegistry;
+import org.vaadin.addons.md_stepper.util.SerializableSupplier;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
 
 /**
  * Abstract base class for stepper implementations.
@@ -35,13 +55,15 @@ public abstract class AbstractStepper extends CustomComponent
 
   private static final String DESIGN_ATTRIBUTE_LINEAR = "linear";
 
-  private final Collection<StepperCompleteListener> stepperCompleteListeners;
-  private final Collection<StepperErrorListener> stepperErrorListeners;
-  private final Collection<StepperFeedbackListener> stepperFeedbackListeners;
+  private final ListenerRegistry<StepperCompleteListener> stepperCompleteListeners;
+  private final ListenerRegistry<StepperErrorListener> stepperErrorListeners;
+  private final ListenerRegistry<StepperFeedbackListener> stepperFeedbackListeners;
 
   private final StepIterator stepIterator;
   private final LabelProvider labelProvider;
   private final Map<Step, Throwable> errorMap;
+  private final Collection<Step> retainedContentSteps;
+  private final Map<Button, Registration> clickRegistrations;
 
   private final Button.ClickListener onBackClicked;
   private final Button.ClickListener onNextClicked;
@@ -49,6 +71,22 @@ public abstract class AbstractStepper extends CustomComponent
   private final Button.ClickListener onCancelClicked;
 
   private String feedbackMessage;
+  private ContentRetentionPolicy contentRetentionPolicy;
+  private boolean sharedButtons;
+  private Button sharedBackButton;
+  private Button sharedNextButton;
+  private Button sharedSkipButton;
+  private Button sharedCancelButton;
+  private transient Executor executor;
+  private transient Object pendingValidation;
+  private transient FutureTask<SerializableSupplier<Component>> pendingLoad;
+  private transient Step pendingLoadStep;
+  private transient Map<Step, FutureTask<SerializableSupplier<Component>>> prefetches;
+  private int prefetchCount;
+  private boolean validateBeforeComplete;
+  private transient boolean completing;
+  private boolean refreshPending;
+  private int batchDepth;
 
   /**
    * Construct a new instance of the stepper.
@@ -62,16 +100,24 @@ public abstract class AbstractStepper extends CustomComponent
     Objects.requireNonNull(stepIterator, "Step iterator may not be null");
     Objects.requireNonNull(labelProvider, "Label provider may not be null");
 
-    this.stepperCompleteListeners = new HashSet<>();
-    this.stepperErrorListeners = new HashSet<>();
-    this.stepperFeedbackListeners = new HashSet<>();
+    this.stepperCompleteListeners = new ListenerRegistry<>();
+    this.stepperErrorListeners = new ListenerRegistry<>();
+    this.stepperFeedbackListeners = new ListenerRegistry<>();
     this.errorMap = new HashMap<>();
+    this.retainedContentSteps = new LinkedHashSet<>();
+    this.clickRegistrations = new HashMap<>();
+    this.contentRetentionPolicy = ContentRetentionPolicy.keepAll();
     this.labelProvider = labelProvider;
+    this.labelProvider.setRefreshDeferred(true);
 
     this.onBackClicked = e -> getCurrent().notifyBack(this);
     this.onNextClicked = e -> getCurrent().notifyNext(this);
     this.onSkipClicked = e -> getCurrent().notifySkip(this);
-    this.onCancelClicked = e -> getCurrent().notifyCancel(this);
+    this.onCancelClicked = e -> {
+      cancelContentLoad();
+      cancelPrefetches();
+      getCurrent().notifyCancel(this);
+    };
 
     addStepperCompleteListener(labelProvider);
     addStepperErrorListener(labelProvider);
@@ -79,6 +125,17 @@ public abstract class AbstractStepper extends CustomComponent
 
     this.stepIterator = stepIterator;
     this.stepIterator.addElementChangeListener(this);
+    this.stepIterator.addElementAddListener(e -> scheduleRefresh());
+    this.stepIterator.addElementRemoveListener(e -> {
+      retainedContentSteps.remove(e.getElement());
+      releaseClickListeners(e.getElement());
+      scheduleRefresh();
+    });
+    this.stepIterator.addElementsChangeListener(e -> {
+      retainedContentSteps.removeAll(e.getRemovedElements());
+      e.getRemovedElements().forEach(this::releaseClickListeners);
+      scheduleRefresh();
+    });
   }
 
   @Override
@@ -117,16 +174,111 @@ public abstract class AbstractStepper extends CustomComponent
     return stepperFeedbackListeners.remove(listener);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The navigation is updated right away, while labels and layout are rendered again only once
+   * before the next response is sent to the client, no matter how often the stepper has been
+   * refreshed in the meantime.
+   */
   @Override
   public void refresh() {
+    stepIterator.refresh();
+    scheduleRefresh();
+  }
+
+  private void scheduleRefresh() {
+    refreshPending = true;
+    markAsDirty();
+  }
+
+  @Override
+  public void refresh(Step step) {
+    Objects.requireNonNull(step, "Step may not be null");
+    labelProvider.refresh(step);
+  }
+
+  /**
+   * Render the stepper again after it has been refreshed.
+   * <p>
+   * Called at most once per response (or batch), subclasses should extend this method to update
+   * their layout.
+   */
+  protected void doRefresh() {
     labelProvider.refresh();
   }
 
+  /**
+   * Render the stepper right away if it has been refreshed since it was rendered the last time.
+   * <p>
+   * Subclasses should call this method before they access labels or layout of steps that might have
+   * been added in the meantime.
+   */
+  protected void flushRefresh() {
+    if (refreshPending) {
+      refreshPending = false;
+      doRefresh();
+    }
+  }
+
+  @Override
+  public void beforeClientResponse(boolean initial) {
+    super.beforeClientResponse(initial);
+    flushRefresh();
+  }
+
+  /**
+   * Apply the given changes to the stepper as one batch.
+   * <p>
+   * All refreshes caused by the changes (e.g. by adding steps or by calling {@link #refresh()}) are
+   * combined into a single render once the batch is done. If the stepper is attached to a UI whose
+   * session is not locked by the current thread (e.g. in a background job), the changes are applied
+   * while holding the lock of the session.
+   *
+   * @param changes
+   *     The changes to apply
+   */
+  public void batch(Runnable changes) {
+    Objects.requireNonNull(changes, "Changes may not be null");
+
+    UI ui = getUI();
+    if (ui != null && !ui.getSession().hasLock()) {
+      ui.accessSynchronously(() -> batch(changes));
+      return;
+    }
+
+    batchDepth++;
+    try {
+      changes.run();
+    } finally {
+      batchDepth--;
+    }
+
+    if (batchDepth == 0) {
+      flushRefresh();
+    }
+  }
+
   @Override
   public List<Step> getSteps() {
     return stepIterator.getSteps();
   }
 
+  @Override
+  public void addAll(Collection<Step> steps) {
+    stepIterator.addAll(steps);
+  }
+
+  @Override
+  public void removeAll(Collection<Step> steps) {
+    stepIterator.removeAll(steps);
+  }
+
+  @Override
+  public void replaceAll(Collection<Step> steps) {
+    stepIterator.replaceAll(steps);
+  }
+
   @Override
   public Step getCurrent() {
     return stepIterator.getCurrent();
@@ -164,6 +316,10 @@ public abstract class AbstractStepper extends CustomComponent
     Step current = getCurrent();
     Objects.requireNonNull(current, "No current step specified");
 
+    if (completing) {
+      return;
+    }
+
     labelProvider.setCompleted(current, true);
     current.notifyComplete(this);
 
@@ -172,15 +328,146 @@ public abstract class AbstractStepper extends CustomComponent
     if (stepIterator.hasNext()) {
       stepIterator.next();
     } else {
-      notifyStepperComplete();
+      complete(false);
+    }
+  }
+
+  /**
+   * Validate the current step in the background and move to the next step if it is valid.
+   *
+   * @param validator
+   *     The validator of the step
+   *
+   * @return The result of the validation
+   *
+   * @see #nextAsync(Function, String)
+   */
+  public CompletableFuture<Boolean> nextAsync(Function<Step, CompletionStage<Boolean>> validator) {
+    return nextAsync(validator, "");
+  }
+
+  /**
+   * Validate the current step in the background and move to the next step if it is valid.
+   * <p>
+   * The validator is called using the executor of the stepper (see {@link #setExecutor(Executor)}),
+   * so it may block without holding the lock of the session. The given feedback message and a
+   * spinner are shown while the validation runs. Once it is done, the result is applied to the
+   * stepper using {@link UI#access(Runnable)}:
+   * <ul> <li>if the step is valid, the stepper moves to the next step</li> <li>if the validation
+   * failed with an exception, the exception is shown as error of the step</li> <li>if the step is
+   * not valid, the stepper stays on the step</li> </ul>
+   * The result is discarded if the stepper has moved to another step or a new validation has been
+   * started in the meantime. If the stepper has been detached from its UI before the validation is
+   * done, the returned future completes with an {@link UIDetachedException}. Enable push to show
+   * the result without waiting for the next request.
+   * <p>
+   * The validator must not access components of the UI (e.g. to read field values), read them
+   * before calling this method instead. A validator that returns <code>null</code> instead of a
+   * completion stage is rejected with an {@link IllegalArgumentException}, which is shown as error
+   * of the step.
+   *
+   * @param validator
+   *     The validator of the step
+   * @param feedbackMessage
+   *     The message to show while the validation runs
+   *
+   * @return The result of the validation
+   */
+  public CompletableFuture<Boolean> nextAsync(Function<Step, CompletionStage<Boolean>> validator,
+                                              String feedbackMessage) {
+    Objects.requireNonNull(validator, "Validator may not be null");
+    Step step = getCurrent();
+    Objects.requireNonNull(step, "No current step specified");
+    UI ui = getUI();
+    if (ui == null) {
+      throw new IllegalStateException("Stepper is not attached to a UI");
+    }
+
+    Object validation = new Object();
+    pendingValidation = validation;
+    showFeedbackMessage(feedbackMessage != null ? feedbackMessage : "");
+
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    CompletableFuture.supplyAsync(() -> validate(validator, step), getExecutor())
+                     .thenCompose(Function.identity())
+                     .whenComplete((valid, error) -> access(ui, () -> applyValidation(
+                         validation, step, valid, error, result), result));
+    return result;
+  }
+
+  private static CompletionStage<Boolean> validate(
+      Function<Step, CompletionStage<Boolean>> validator, Step step) {
+    CompletionStage<Boolean> stage = validator.apply(step);
+    if (stage == null) {
+      throw new IllegalArgumentException("Validator may not return null");
+    }
+    return stage;
+  }
+
+  private static void access(UI ui, Runnable task, CompletableFuture<?> result) {
+    try {
+      ui.access(task);
+    } catch (UIDetachedException e) {
+      result.completeExceptionally(e);
     }
   }
 
+  private void applyValidation(Object validation, Step step, Boolean valid, Throwable error,
+                               CompletableFuture<Boolean> result) {
+    if (pendingValidation != validation) {
+      result.complete(false);
+      return;
+    }
+
+    pendingValidation = null;
+    hideFeedbackMessage();
+
+    if (getCurrent() != step) {
+      result.complete(false);
+    } else if (error != null) {
+      Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+      showError(step, cause);
+      result.completeExceptionally(cause);
+    } else if (Boolean.TRUE.equals(valid)) {
+      if (getError(step) != null) {
+        hideError(step);
+      }
+      next();
+      result.complete(true);
+    } else {
+      result.complete(false);
+    }
+  }
+
+  /**
+   * Get the executor used for background work of the stepper (e.g. asynchronous validation).
+   *
+   * @return The executor
+   */
+  public Executor getExecutor() {
+    return executor != null ? executor : ExecutorUtils.getDefaultExecutor();
+  }
+
+  /**
+   * Set the executor used for background work of the stepper.
+   * <p>
+   * The executor is not serialized with the stepper, after deserialization the default executor
+   * (see {@link ExecutorUtils#getDefaultExecutor()}) is used.
+   *
+   * @param executor
+   *     The executor to use
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = Objects.requireNonNull(executor, "Executor may not be null");
+  }
+
   private void resetStepsIfNeeded(Step current) {
     if (stepIterator.isLinear() && current.isResetOnResubmit()) {
       List<Step> steps = stepIterator.getSteps();
       steps.stream()
-           .skip(steps.indexOf(current) + 1)
+           .skip(stepIterator.indexOf(current) + 1)
            .filter(stepIterator::isStepComplete)
            .forEach(step -> {
              labelProvider.setCompleted(step, false);
@@ -194,6 +481,10 @@ public abstract class AbstractStepper extends CustomComponent
     Step current = getCurrent();
     Objects.requireNonNull(current, "No current step specified");
 
+    if (completing) {
+      return;
+    }
+
     labelProvider.setSkipped(current, true);
     current.notifyComplete(this);
 
@@ -202,7 +493,7 @@ public abstract class AbstractStepper extends CustomComponent
     if (stepIterator.hasSkip()) {
       stepIterator.skip();
     } else {
-      notifyStepperComplete();
+      complete(true);
     }
   }
 
@@ -224,6 +515,44 @@ public abstract class AbstractStepper extends CustomComponent
     notifyStepperError(step, throwable);
   }
 
+  @Override
+  public void showErrors(Map<Step, Throwable> errors) {
+    Objects.requireNonNull(errors, "Errors may not be null");
+    errors.keySet().forEach(step -> {
+      if (step == null || stepIterator.indexOf(step) < 0) {
+        throw new IllegalArgumentException("Errors may only contain steps of the stepper");
+      }
+    });
+    if (errors.isEmpty()) {
+      return;
+    }
+
+    errors.forEach((step, throwable) -> {
+      if (throwable != null) {
+        errorMap.put(step, throwable);
+      } else {
+        errorMap.remove(step);
+      }
+    });
+
+    notifyStepperErrors(errors);
+  }
+
+  @Override
+  public void clearErrors() {
+    if (errorMap.isEmpty()) {
+      return;
+    }
+
+    Map<Step, Throwable> cleared = new LinkedHashMap<>();
+    getSteps().stream().filter(errorMap::containsKey).forEach(step -> cleared.put(step, null));
+    errorMap.clear();
+
+    if (!cleared.isEmpty()) {
+      notifyStepperErrors(cleared);
+    }
+  }
+
   @Override
   public void hideError() {
     hideError(getCurrent());
@@ -257,8 +586,10 @@ public abstract class AbstractStepper extends CustomComponent
   }
 
   private void notifyStepperFeedback(String message) {
-    StepperFeedbackEvent feedbackEvent = new StepperFeedbackEvent(this, message);
-    stepperFeedbackListeners.forEach(l -> l.onStepperFeedback(feedbackEvent));
+    if (!stepperFeedbackListeners.isEmpty()) {
+      stepperFeedbackListeners.fire(new StepperFeedbackEvent(this, message),
+                                    StepperFeedbackListener::onStepperFeedback);
+    }
   }
 
   @Override
@@ -267,13 +598,598 @@ public abstract class AbstractStepper extends CustomComponent
   }
 
   private void notifyStepperError(Step step, Throwable throwable) {
-    StepperErrorEvent errorEvent = new StepperErrorEvent(this, step, throwable);
-    stepperErrorListeners.forEach(l -> l.onStepperError(errorEvent));
+    if (!stepperErrorListeners.isEmpty()) {
+      stepperErrorListeners.fire(new StepperErrorEvent(this, step, throwable),
+                                 StepperErrorListener::onStepperError);
+    }
+  }
+
+  private void complete(boolean skipped) {
+    if (!validateBeforeComplete || getSteps().stream().allMatch(s -> s.getValidator() == null)) {
+      notifyStepperComplete();
+      return;
+    }
+
+    if (completing) {
+      return;
+    }
+
+    Step current = getCurrent();
+    boolean attached = getUI() != null;
+    if (attached) {
+      showFeedbackMessage("");
+    }
+    completing = true;
+    validateAll().whenComplete((errors, error) -> {
+      completing = false;
+      if (errors == null) {
+        // The stepper has been detached in the meantime
+        return;
+      }
+      if (attached) {
+        hideFeedbackMessage();
+      }
+      if (errors.isEmpty()) {
+        notifyStepperComplete();
+      } else {
+        rollBackCompletion(current, skipped);
+      }
+    });
+  }
+
+  /**
+   * Mark the given step as neither completed nor skipped again after the validation before
+   * completing the stepper failed, so the step stays active and editable.
+   */
+  private void rollBackCompletion(Step step, boolean skipped) {
+    if (step == null || stepIterator.indexOf(step) < 0) {
+      return;
+    }
+
+    if (skipped) {
+      labelProvider.setSkipped(step, false);
+    } else {
+      labelProvider.setCompleted(step, false);
+    }
+    step.notifyReset(this);
+    if (step == getCurrent()) {
+      setActive(step, step, false);
+    }
+  }
+
+  /**
+   * Check whether all steps are validated before the stepper completes.
+   *
+   * @return <code>true</code> if the steps are validated, <code>false</code> else
+   */
+  public boolean isValidateBeforeComplete() {
+    return validateBeforeComplete;
+  }
+
+  /**
+   * Set whether all steps are validated before the stepper completes.
+   * <p>
+   * If enabled, the validators of all steps are run using {@link #validateAll()} once the last step
+   * is submitted. The stepper only completes if all steps are valid, otherwise it shows the errors
+   * of the invalid steps and the last step stays active and can be submitted again. Submitting the
+   * last step again while the validation is still running has no effect.
+   *
+   * @param validateBeforeComplete
+   *     <code>true</code> if the steps should be validated, <code>false</code> else
+   */
+  public void setValidateBeforeComplete(boolean validateBeforeComplete) {
+    this.validateBeforeComplete = validateBeforeComplete;
+  }
+
+  /**
+   * Run the validators of all steps (see {@link Step#setValidator(StepValidator)}) concurrently.
+   * <p>
+   * The validators are run using the executor of the stepper. Once all of them are done, the
+   * results are applied to the stepper at once using {@link #showErrors(Map)}: the errors of
+   * invalid steps are shown and the errors of valid steps are hidden. If the stepper is attached,
+   * the results are applied using {@link UI#access(Runnable)}, otherwise the calling thread waits
+   * for the validators. If the stepper is detached from its UI before the validators are done, the
+   * returned future completes with an {@link UIDetachedException}.
+   *
+   * @return The errors of the invalid steps in the order of the steps, the map is empty if all
+   * steps are valid
+   */
+  public CompletableFuture<Map<Step, Throwable>> validateAll() {
+    Map<Step, CompletableFuture<Throwable>> validations = new LinkedHashMap<>();
+    for (Step step : getSteps()) {
+      StepValidator validator = step.getValidator();
+      if (validator != null) {
+        validations.put(step, CompletableFuture.supplyAsync(() -> validate(validator, step),
+                                                            getExecutor()));
+      }
+    }
+
+    CompletableFuture<Map<Step, Throwable>> result = new CompletableFuture<>();
+    CompletableFuture<Void> all = CompletableFuture.allOf(
+        validations.values().toArray(new CompletableFuture<?>[validations.size()]));
+
+    UI ui = getUI();
+    if (ui == null) {
+      all.handle((v, e) -> null).join();
+      applyValidations(validations, result);
+    } else {
+      all.whenComplete((v, e) -> access(ui, () -> applyValidations(validations, result), result));
+    }
+    return result;
+  }
+
+  private static Throwable validate(StepValidator validator, Step step) {
+    try {
+      validator.validate(step);
+      return null;
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  private void applyValidations(Map<Step, CompletableFuture<Throwable>> validations,
+                                CompletableFuture<Map<Step, Throwable>> result) {
+    Map<Step, Throwable> errors = new LinkedHashMap<>();
+    validations.forEach((step, validation) -> {
+      Throwable error;
+      try {
+        error = validation.join();
+      } catch (CompletionException e) {
+        error = e.getCause() != null ? e.getCause() : e;
+      }
+      if (error != null) {
+        errors.put(step, error);
+      }
+    });
+
+    Map<Step, Throwable> changes = new LinkedHashMap<>();
+    validations.keySet().forEach(step -> {
+      Throwable error = errors.get(step);
+      if (stepIterator.indexOf(step) >= 0 && (error != null || getError(step) != null)) {
+        changes.put(step, error);
+      }
+    });
+    showErrors(changes);
+    result.complete(errors);
+  }
+
+  private void notifyStepperErrors(Map<Step, Throwable> errors) {
+    if (!stepperErrorListeners.isEmpty()) {
+      stepperErrorListeners.fire(new StepperErrorsEvent(this, errors),
+                                 StepperErrorListener::onStepperErrors);
+    }
   }
 
   private void notifyStepperComplete() {
-    StepperCompleteEvent stepperCompleteEvent = new StepperCompleteEvent(this);
-    stepperCompleteListeners.forEach(l -> l.onStepperComplete(stepperCompleteEvent));
+    if (!stepperCompleteListeners.isEmpty()) {
+      stepperCompleteListeners.fire(new StepperCompleteEvent(this),
+                                    StepperCompleteListener::onStepperComplete);
+    }
+  }
+
+  /**
+   * Register the navigation click listeners on the own buttons of the given step and release the
+   * ones registered on any other buttons, so every button carries at most one listener of the
+   * stepper no matter how often a step is activated.
+   *
+   * @param step
+   *     The active step or <code>null</code> if no step is active
+   */
+  private void bindClickListeners(Step step) {
+    Map<Button, Button.ClickListener> bindings = new LinkedHashMap<>();
+    if (step != null) {
+      if (usesOwnButton(step, step.hasBackButton())) {
+        bindings.put(step.getBackButton(), onBackClicked);
+      }
+      if (usesOwnButton(step, step.hasNextButton())) {
+        bindings.put(step.getNextButton(), onNextClicked);
+      }
+      if (usesOwnButton(step, step.hasSkipButton())) {
+        bindings.put(step.getSkipButton(), onSkipClicked);
+      }
+      if (usesOwnButton(step, step.hasCancelButton())) {
+        bindings.put(step.getCancelButton(), onCancelClicked);
+      }
+    }
+
+    Iterator<Map.Entry<Button, Registration>> iterator = clickRegistrations.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Button, Registration> entry = iterator.next();
+      if (!bindings.containsKey(entry.getKey())) {
+        entry.getValue().remove();
+        iterator.remove();
+      }
+    }
+
+    bindings.forEach((button, listener) -> clickRegistrations.computeIfAbsent(
+        button, b -> b.addClickListener(listener)));
+  }
+
+  /**
+   * Check whether the given step shows its own button instead of the shared one. Steps use their
+   * own buttons if buttons are not shared, if the button already exists or if the step opted in to
+   * its own buttons (see {@link Step#setOwnButtons(boolean)}).
+   */
+  private boolean usesOwnButton(Step step, boolean hasButton) {
+    return !sharedButtons || hasButton || step.isOwnButtons();
+  }
+
+  private void releaseClickListeners(Step step) {
+    getOwnButtons(step).forEach(button -> {
+      Registration registration = clickRegistrations.remove(button);
+      if (registration != null) {
+        registration.remove();
+      }
+    });
+  }
+
+  private static Set<Button> getOwnButtons(Step step) {
+    Set<Button> buttons = new LinkedHashSet<>();
+    if (step.hasBackButton()) {
+      buttons.add(step.getBackButton());
+    }
+    if (step.hasNextButton()) {
+      buttons.add(step.getNextButton());
+    }
+    if (step.hasSkipButton()) {
+      buttons.add(step.getSkipButton());
+    }
+    if (step.hasCancelButton()) {
+      buttons.add(step.getCancelButton());
+    }
+    return buttons;
+  }
+
+  /**
+   * Get the number of click listeners currently registered on the own buttons of the given step.
+   * <p>
+   * This includes the listeners of the stepper as well as all other listeners and is meant for
+   * diagnostics.
+   *
+   * @param step
+   *     The step to count the listeners for
+   *
+   * @return The number of click listeners
+   */
+  public int getClickListenerCount(Step step) {
+    Objects.requireNonNull(step, "Step may not be null");
+    return getOwnButtons(step).stream()
+                              .mapToInt(b -> b.getListeners(Button.ClickEvent.class).size())
+                              .sum();
+  }
+
+  /**
+   * Get the number of click listeners currently registered on the own buttons of every step.
+   *
+   * @return The number of click listeners per step, in the order of the steps
+   *
+   * @see #getClickListenerCount(Step)
+   */
+  public Map<Step, Integer> getClickListenerCounts() {
+    Map<Step, Integer> counts = new LinkedHashMap<>();
+    getSteps().forEach(step -> counts.put(step, getClickListenerCount(step)));
+    return counts;
+  }
+
+  /**
+   * Check whether the stepper uses one set of navigation buttons for all steps.
+   *
+   * @return <code>true</code> if the buttons are shared, <code>false</code> else
+   */
+  public boolean isSharedButtons() {
+    return sharedButtons;
+  }
+
+  /**
+   * Set whether the stepper should use one set of navigation buttons for all steps.
+   * <p>
+   * Shared buttons are owned by the stepper and always trigger the actions of the current step.
+   * Steps that have their own buttons (set explicitly or accessed through the getters of the step)
+   * or that opted in to them (see {@link Step#setOwnButtons(boolean)}) keep using their own
+   * buttons, all other steps never create buttons. The shared buttons are built by the
+   * factories of the stepper, e.g. {@link #createNextButton()}.
+   *
+   * @param sharedButtons
+   *     <code>true</code> if the buttons should be shared, <code>false</code> else
+   */
+  public void setSharedButtons(boolean sharedButtons) {
+    if (this.sharedButtons != sharedButtons) {
+      this.sharedButtons = sharedButtons;
+      refresh();
+    }
+  }
+
+  /**
+   * Get the back button to show for the given step.
+   *
+   * @param step
+   *     The step to get the button for
+   *
+   * @return The button of the step or the shared button if the step has no own button
+   */
+  protected Button getBackButton(Step step) {
+    if (usesOwnButton(step, step.hasBackButton())) {
+      return step.getBackButton();
+    }
+    if (sharedBackButton == null) {
+      sharedBackButton = createBackButton();
+      sharedBackButton.addClickListener(onBackClicked);
+    }
+    return sharedBackButton;
+  }
+
+  /**
+   * Get the next button to show for the given step.
+   *
+   * @param step
+   *     The step to get the button for
+   *
+   * @return The button of the step or the shared button if the step has no own button
+   */
+  protected Button getNextButton(Step step) {
+    if (usesOwnButton(step, step.hasNextButton())) {
+      return step.getNextButton();
+    }
+    if (sharedNextButton == null) {
+      sharedNextButton = createNextButton();
+      sharedNextButton.addClickListener(onNextClicked);
+    }
+    return sharedNextButton;
+  }
+
+  /**
+   * Get the skip button to show for the given step.
+   *
+   * @param step
+   *     The step to get the button for
+   *
+   * @return The button of the step or the shared button if the step has no own button
+   */
+  protected Button getSkipButton(Step step) {
+    if (usesOwnButton(step, step.hasSkipButton())) {
+      return step.getSkipButton();
+    }
+    if (sharedSkipButton == null) {
+      sharedSkipButton = createSkipButton();
+      sharedSkipButton.addClickListener(onSkipClicked);
+    }
+    return sharedSkipButton;
+  }
+
+  /**
+   * Get the cancel button to show for the given step.
+   *
+   * @param step
+   *     The step to get the button for
+   *
+   * @return The button of the step or the shared button if the step has no own button
+   */
+  protected Button getCancelButton(Step step) {
+    if (usesOwnButton(step, step.hasCancelButton())) {
+      return step.getCancelButton();
+    }
+    if (sharedCancelButton == null) {
+      sharedCancelButton = createCancelButton();
+      sharedCancelButton.addClickListener(onCancelClicked);
+    }
+    return sharedCancelButton;
+  }
+
+  /**
+   * Create the shared back button.
+   *
+   * @return The back button
+   */
+  protected Button createBackButton() {
+    return ButtonUtils.createBackButton();
+  }
+
+  /**
+   * Create the shared next button.
+   *
+   * @return The next button
+   */
+  protected Button createNextButton() {
+    return ButtonUtils.createNextButton();
+  }
+
+  /**
+   * Create the shared skip button.
+   *
+   * @return The skip button
+   */
+  protected Button createSkipButton() {
+    return ButtonUtils.createSkipButton();
+  }
+
+  /**
+   * Create the shared cancel button.
+   *
+   * @return The cancel button
+   */
+  protected Button createCancelButton() {
+    return ButtonUtils.createCancelButton();
+  }
+
+  /**
+   * Get the policy that defines how long the content of inactive steps is kept.
+   *
+   * @return The policy
+   */
+  public ContentRetentionPolicy getContentRetentionPolicy() {
+    return contentRetentionPolicy;
+  }
+
+  /**
+   * Set the policy that defines how long the content of inactive steps is kept.
+   * <p>
+   * The policy only applies to steps whose content is built by a content factory. Evicted content
+   * is built again once the step becomes active.
+   *
+   * @param contentRetentionPolicy
+   *     The policy to use
+   */
+  public void setContentRetentionPolicy(ContentRetentionPolicy contentRetentionPolicy) {
+    Objects.requireNonNull(contentRetentionPolicy, "Policy may not be null");
+    this.contentRetentionPolicy = contentRetentionPolicy;
+    contentRetentionPolicy.apply(retainedContentSteps, getCurrent()).forEach(this::contentReleased);
+  }
+
+  /**
+   * Get the number of steps built by a content factory whose content is currently kept strongly
+   * reachable. Content that is only kept as soft reference is not counted.
+   *
+   * @return The number of steps
+   */
+  public int getRetainedContentCount() {
+    return (int) getSteps().stream()
+                           .filter(step -> step.getContentFactory() != null)
+                           .filter(Step::isContentRetained)
+                           .count();
+  }
+
+  /**
+   * Get the number of steps built by a content factory whose content has been evicted and will be
+   * built again once the step becomes active.
+   *
+   * @return The number of steps
+   */
+  public int getEvictedContentCount() {
+    return (int) getSteps().stream().filter(Step::isContentEvicted).count();
+  }
+
+  /**
+   * Get the number of steps following the active step whose content is loaded in advance.
+   *
+   * @return The number of steps or <code>0</code> if no content is loaded in advance
+   */
+  public int getPrefetchCount() {
+    return prefetchCount;
+  }
+
+  /**
+   * Set the number of steps following the active step whose content is loaded in advance.
+   * <p>
+   * Once a step becomes active, the content loaders (see
+   * {@link Step#setContentLoader(StepContentLoader)}) of the given number of steps starting at the
+   * step the stepper would move to next are started in the background, so their content is ready
+   * when the user moves on. At most the given number of loaders run in advance per stepper. Loaders
+   * of steps that are no longer ahead of the active step are cancelled and their results
+   * discarded. Set to <code>0</code> (default) to only load the content of the active step.
+   *
+   * @param prefetchCount
+   *     The number of steps to load the content for in advance
+   */
+  public void setPrefetchCount(int prefetchCount) {
+    if (prefetchCount < 0) {
+      throw new IllegalArgumentException("Prefetch count may not be negative");
+    }
+
+    this.prefetchCount = prefetchCount;
+    prefetchContent(getCurrent());
+  }
+
+  private List<Step> getPrefetchTargets(Step step) {
+    if (prefetchCount == 0 || step == null || !stepIterator.hasNext()) {
+      return Collections.emptyList();
+    }
+
+    List<Step> steps = getSteps();
+    int from = stepIterator.nextIndex();
+    int to = Math.min(steps.size(), from + prefetchCount);
+    List<Step> targets = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      Step target = steps.get(i);
+      if (target != step && target.isContentLoadPending()) {
+        targets.add(target);
+      }
+    }
+    return targets;
+  }
+
+  private void prefetchContent(Step step) {
+    List<Step> targets = getPrefetchTargets(step);
+
+    if (prefetches != null) {
+      Iterator<Map.Entry<Step, FutureTask<SerializableSupplier<Component>>>> iterator
+          = prefetches.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<Step, FutureTask<SerializableSupplier<Component>>> entry = iterator.next();
+        if (!targets.contains(entry.getKey())) {
+          entry.getValue().cancel(true);
+          iterator.remove();
+        }
+      }
+    }
+
+    UI ui = getUI();
+    if (ui == null || targets.isEmpty()) {
+      return;
+    }
+
+    if (prefetches == null) {
+      prefetches = new LinkedHashMap<>();
+    }
+    for (Step target : targets) {
+      if (target != pendingLoadStep && !prefetches.containsKey(target)) {
+        FutureTask<SerializableSupplier<Component>> task = createLoadTask(ui, target);
+        prefetches.put(target, task);
+        getExecutor().execute(task);
+      }
+    }
+  }
+
+  /**
+   * Apply the prefetched content of the given step if loading it has already finished, so the step
+   * shows its content right away instead of a placeholder.
+   *
+   * @param step
+   *     The step that is about to become active
+   */
+  private void usePrefetchedContent(Step step) {
+    FutureTask<SerializableSupplier<Component>> task
+        = step != null && prefetches != null ? prefetches.get(step) : null;
+    if (task == null || !task.isDone()) {
+      return;
+    }
+
+    prefetches.remove(step);
+    try {
+      step.applyLoadedContent(task.get());
+    } catch (ExecutionException | RuntimeException e) {
+      // Loaded again (and the error shown) once the step is active
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void cancelPrefetches() {
+    if (prefetches != null) {
+      prefetches.values().forEach(task -> task.cancel(true));
+      prefetches.clear();
+    }
+  }
+
+  private void retainContent(Step step) {
+    if (step.getContentFactory() != null) {
+      retainedContentSteps.remove(step);
+      retainedContentSteps.add(step);
+    }
+    contentRetentionPolicy.apply(retainedContentSteps, step).forEach(this::contentReleased);
+  }
+
+  /**
+   * Called after the content retention policy released the content of the given step.
+   * <p>
+   * Implementations that keep references to the content of inactive steps (e.g. to cache their
+   * client side state) must drop them here, otherwise the content cannot be reclaimed and a second
+   * instance is built once the step becomes active again.
+   *
+   * @param step
+   *     The step whose content has been released
+   */
+  protected void contentReleased(Step step) {
+    // Nothing to release by default
   }
 
   /**
@@ -296,6 +1212,7 @@ public abstract class AbstractStepper extends CustomComponent
 
   @Override
   public void onElementChange(IterationEvent<Step> event) {
+    usePrefetchedContent(event.getCurrent());
     setActive(event.getCurrent(), event.getPrevious());
   }
 
@@ -318,12 +1235,18 @@ public abstract class AbstractStepper extends CustomComponent
    *     <code>true</code> if an event should be fired, <code>false</code> else
    */
   protected void setActive(Step step, Step previousStep, boolean fireEvent) {
+    flushRefresh();
+    bindClickListeners(step);
+
+    if (pendingLoadStep != null && pendingLoadStep != step) {
+      cancelContentLoad();
+    }
+
     if (step != null) {
-      step.getBackButton().addClickListener(onBackClicked);
-      step.getNextButton().addClickListener(onNextClicked);
-      step.getSkipButton().addClickListener(onSkipClicked);
-      step.getCancelButton().addClickListener(onCancelClicked);
       labelProvider.setActive(step);
+      retainContent(step);
+      loadContent(step);
+      prefetchContent(step);
 
       if (fireEvent) {
         step.notifyActive(this, previousStep);
@@ -331,6 +1254,118 @@ public abstract class AbstractStepper extends CustomComponent
     }
   }
 
+  /**
+   * Start loading the content of the given step if it has a content loader that has not finished
+   * yet.
+   * <p>
+   * The loader runs on the executor of the stepper and the loaded content is applied using
+   * {@link UI#access(Runnable)}. Loading only starts once the stepper is attached to a UI.
+   *
+   * @param step
+   *     The step to load the content for
+   */
+  private void loadContent(Step step) {
+    UI ui = getUI();
+    if (ui == null || !step.isContentLoadPending() || pendingLoadStep == step) {
+      return;
+    }
+
+    FutureTask<SerializableSupplier<Component>> prefetch
+        = prefetches != null ? prefetches.remove(step) : null;
+    if (prefetch != null) {
+      pendingLoad = prefetch;
+      pendingLoadStep = step;
+      if (prefetch.isDone()) {
+        ui.access(() -> applyLoadedContent(prefetch, step));
+      }
+      return;
+    }
+
+    FutureTask<SerializableSupplier<Component>> task = createLoadTask(ui, step);
+    pendingLoad = task;
+    pendingLoadStep = step;
+    getExecutor().execute(task);
+  }
+
+  private FutureTask<SerializableSupplier<Component>> createLoadTask(UI ui, Step step) {
+    StepContentLoader loader = step.getContentLoader();
+    return new FutureTask<SerializableSupplier<Component>>(() -> load(loader, step)) {
+      @Override
+      protected void done() {
+        if (isCancelled()) {
+          return;
+        }
+        try {
+          ui.access(() -> applyLoadedContent(this, step));
+        } catch (UIDetachedException e) {
+          // Nothing to apply the content to, it is loaded again once the stepper is attached
+        }
+      }
+    };
+  }
+
+  private static SerializableSupplier<Component> load(StepContentLoader loader, Step step)
+      throws Exception {
+    SerializableSupplier<Component> contentFactory = loader.load(step);
+    if (contentFactory == null) {
+      throw new IllegalArgumentException("Content loader may not return null");
+    }
+    return contentFactory;
+  }
+
+  private void applyLoadedContent(FutureTask<SerializableSupplier<Component>> task, Step step) {
+    if (pendingLoad != task) {
+      return;
+    }
+
+    pendingLoad = null;
+    pendingLoadStep = null;
+
+    try {
+      step.applyLoadedContent(task.get());
+    } catch (ExecutionException e) {
+      showError(step, e.getCause());
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    if (step == getCurrent()) {
+      setActive(step, step, false);
+    }
+  }
+
+  /**
+   * Cancel loading the content of a step. The thread running the loader is interrupted and the
+   * loading starts again the next time the step becomes active.
+   */
+  protected void cancelContentLoad() {
+    if (pendingLoad != null) {
+      pendingLoad.cancel(true);
+    }
+    pendingLoad = null;
+    pendingLoadStep = null;
+  }
+
+  @Override
+  public void attach() {
+    super.attach();
+    flushRefresh();
+    Step current = getCurrent();
+    if (current != null) {
+      loadContent(current);
+      prefetchContent(current);
+    }
+  }
+
+  @Override
+  public void detach() {
+    cancelContentLoad();
+    cancelPrefetches();
+    super.detach();
+  }
+
   @Override
   public void readDesign(Element design, DesignContext designContext) {
     super.readDesign(design, designContext);
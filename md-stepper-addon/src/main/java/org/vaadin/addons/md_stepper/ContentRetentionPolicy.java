@@ -0,0 +1,128 @@
+package org.vaadin.addons.md_stepper;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Policy that defines how long a stepper keeps the content of inactive steps.
+ * <p>
+ * The policy only applies to steps whose content is built by a content factory (see
+ * {@link Step#setContentFactory(org.vaadin.addons.md_stepper.util.SerializableSupplier)}), as only
+ * their content can be built again once the step becomes active again.
+ */
+public final class ContentRetentionPolicy implements Serializable {
+
+  private static final ContentRetentionPolicy KEEP_ALL
+      = new ContentRetentionPolicy(Mode.KEEP_ALL, Integer.MAX_VALUE);
+  private static final ContentRetentionPolicy SOFT_REFERENCES
+      = new ContentRetentionPolicy(Mode.SOFT_REFERENCES, 1);
+
+  private final Mode mode;
+  private final int count;
+
+  private ContentRetentionPolicy(Mode mode, int count) {
+    this.mode = mode;
+    this.count = count;
+  }
+
+  /**
+   * Get a policy that keeps the content of all steps (default).
+   *
+   * @return The policy
+   */
+  public static ContentRetentionPolicy keepAll() {
+    return KEEP_ALL;
+  }
+
+  /**
+   * Get a policy that keeps the content of the given number of most recently active steps
+   * (including the active step) and evicts the content of all others.
+   *
+   * @param count
+   *     The number of steps to keep the content for
+   *
+   * @return The policy
+   */
+  public static ContentRetentionPolicy keepLastVisited(int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("Count must be at least 1");
+    }
+    return new ContentRetentionPolicy(Mode.KEEP_LAST_VISITED, count);
+  }
+
+  /**
+   * Get a policy that only keeps the content of the active step strongly reachable. The content of
+   * inactive steps is kept as soft reference and may be reclaimed by the garbage collector when
+   * memory gets low.
+   *
+   * @return The policy
+   */
+  public static ContentRetentionPolicy softReferences() {
+    return SOFT_REFERENCES;
+  }
+
+  /**
+   * Get the number of steps the content is kept for.
+   *
+   * @return The number of steps or {@link Integer#MAX_VALUE} if the content of all steps is kept
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Apply the policy to the given steps.
+   *
+   * @param recentSteps
+   *     The steps whose content is retained, ordered from the least to the most recently active.
+   *     Steps that get evicted are removed from the collection
+   * @param active
+   *     The active step that must not be evicted
+   *
+   * @return The steps whose content has been released
+   */
+  List<Step> apply(Collection<Step> recentSteps, Step active) {
+    Objects.requireNonNull(recentSteps, "Steps may not be null");
+
+    List<Step> released = new ArrayList<>();
+    int limit = recentSteps.contains(active) ? count : count - 1;
+    Iterator<Step> iterator = recentSteps.iterator();
+    while (recentSteps.size() > limit && iterator.hasNext()) {
+      Step step = iterator.next();
+      if (step != active) {
+        if (step.releaseContent(mode == Mode.SOFT_REFERENCES)) {
+          released.add(step);
+        }
+        iterator.remove();
+      }
+    }
+    return released;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ContentRetentionPolicy that = (ContentRetentionPolicy) o;
+    return count == that.count && mode == that.mode;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(mode, count);
+  }
+
+  private enum Mode {
+    KEEP_ALL,
+    KEEP_LAST_VISITED,
+    SOFT_REFERENCES
+  }
+}
@@ -3,6 +3,7 @@ package org.vaadin.addons.md_stepper;
 import com.vaadin.ui.Alignment;
 import com.vaadin.ui.Button;
 import com.vaadin.ui.Component;
+import com.vaadin.ui.ComponentContainer;
 import com.vaadin.ui.CssLayout;
 import com.vaadin.ui.HorizontalLayout;
 import com.vaadin.ui.Label;
@@ -12,6 +13,7 @@ import com.vaadin.ui.themes.ValoTheme;
 
 import org.vaadin.addons.md_stepper.collection.ElementAddListener;
 import org.vaadin.addons.md_stepper.collection.ElementRemoveListener;
+import org.vaadin.addons.md_stepper.collection.ElementsChangeListener;
 import org.vaadin.addons.md_stepper.component.CenteredLayout;
 import org.vaadin.addons.md_stepper.component.Spacer;
 import org.vaadin.addons.md_stepper.component.Spinner;
@@ -19,28 +21,56 @@ import org.vaadin.addons.md_stepper.event.StepperCompleteListener;
 import org.vaadin.addons.md_stepper.util.SerializableSupplier;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Stepper implementation that show th steps in a horizontal style.
  */
 public class HorizontalStepper extends AbstractStepper
-    implements ElementAddListener<Step>, ElementRemoveListener<Step>, StepperCompleteListener {
+    implements ElementAddListener<Step>, ElementRemoveListener<Step>, ElementsChangeListener<Step>,
+               StepperCompleteListener {
 
   public static final float DEFAULT_EXPAND_RATIO_DIVIDER = 0.75F;
 
   private static final String STYLE_ROOT_LAYOUT = "stepper-horizontal";
   private static final String STYLE_LABEL_BAR = "label-bar";
+  private static final String STYLE_FLEX_LABEL_BAR = "flex-label-bar";
   private static final String STYLE_DIVIDER = "label-divider";
+  private static final String STYLE_OVERFLOW = "label-overflow";
   private static final String STYLE_FEEDBACK_MESSAGE = "feedback-message";
   private static final String STYLE_CONTENT_CONTAINER = "content-container";
   private static final String STYLE_BUTTON_BAR = "button-bar";
+  private static final String STYLE_CONTENT_STACK = "content-stack";
+  private static final String STYLE_STEP_CONTENT = "step-content";
+  private static final String STYLE_STEP_CONTENT_HIDDEN = "step-content-hidden";
 
+  private final VerticalLayout rootLayout;
   private final HorizontalLayout labelBar;
+  private final FlexLabelBar flexLabelBar;
+  private final HorizontalLayout feedbackBar;
   private final HorizontalLayout buttonBar;
   private final Panel stepContent;
-
+  private final Map<Step, CssLayout> dividers;
+  private final CssLayout contentStack;
+  private final Map<Step, CssLayout> cachedContents;
+  private final Label leadingOverflow;
+  private final Label trailingOverflow;
+
+  private StepLabelBar clientLabelBar;
+  private LabelBarMode labelBarMode;
   private float dividerExpandRatio;
+  private int labelWindowSize;
+  private int contentCacheSize;
+  private CssLayout activeContent;
+  private Component feedbackContent;
 
   /**
    * Create a new horizontal stepper.
@@ -99,15 +129,21 @@ public class HorizontalStepper extends AbstractStepper
     super(stepIterator, labelProvider);
 
     addStepperCompleteListener(this);
+    addStepperErrorListener(event -> refreshClientLabelBar());
+    labelProvider.addLabelChangeListener(event -> refreshClientLabelBar());
     getStepIterator().addElementAddListener(this);
     getStepIterator().addElementRemoveListener(this);
-
-    this.labelBar = new HorizontalLayout();
-    this.labelBar.setDefaultComponentAlignment(Alignment.MIDDLE_LEFT);
-    this.labelBar.setWidth(100, Unit.PERCENTAGE);
-    this.labelBar.addStyleName(STYLE_LABEL_BAR);
-    this.labelBar.setMargin(false);
-    this.labelBar.setSpacing(false);
+    getStepIterator().addElementsChangeListener(this);
+
+    this.labelBar = createLabelBar();
+    this.feedbackBar = createLabelBar();
+    this.flexLabelBar = new FlexLabelBar();
+    this.flexLabelBar.addStyleName(STYLE_LABEL_BAR);
+    this.flexLabelBar.addStyleName(STYLE_FLEX_LABEL_BAR);
+    this.flexLabelBar.setWidth(100, Unit.PERCENTAGE);
+    this.dividers = new HashMap<>();
+    this.leadingOverflow = createOverflowLabel();
+    this.trailingOverflow = createOverflowLabel();
 
     this.buttonBar = new HorizontalLayout();
     this.buttonBar.setDefaultComponentAlignment(Alignment.MIDDLE_LEFT);
@@ -121,9 +157,17 @@ public class HorizontalStepper extends AbstractStepper
     this.stepContent.addStyleName(STYLE_CONTENT_CONTAINER);
     this.stepContent.setSizeFull();
 
+    this.contentStack = new CssLayout();
+    this.contentStack.addStyleName(STYLE_CONTENT_STACK);
+    this.contentStack.setSizeFull();
+    this.cachedContents = new LinkedHashMap<>();
+
+    this.labelBarMode = LabelBarMode.LAYOUT;
     this.dividerExpandRatio = DEFAULT_EXPAND_RATIO_DIVIDER;
+    this.labelWindowSize = 0;
+    this.contentCacheSize = 0;
 
-    VerticalLayout rootLayout = new VerticalLayout();
+    this.rootLayout = new VerticalLayout();
     rootLayout.setDefaultComponentAlignment(Alignment.MIDDLE_LEFT);
     rootLayout.setSizeFull();
     rootLayout.setMargin(false);
@@ -139,33 +183,187 @@ public class HorizontalStepper extends AbstractStepper
     refreshLabelBar();
   }
 
+  private HorizontalLayout createLabelBar() {
+    HorizontalLayout bar = new HorizontalLayout();
+    bar.setDefaultComponentAlignment(Alignment.MIDDLE_LEFT);
+    bar.setWidth(100, Unit.PERCENTAGE);
+    bar.addStyleName(STYLE_LABEL_BAR);
+    bar.setMargin(false);
+    bar.setSpacing(false);
+    return bar;
+  }
+
+  private Label createOverflowLabel() {
+    Label label = new Label();
+    label.addStyleName(STYLE_OVERFLOW);
+    label.setWidthUndefined();
+    return label;
+  }
+
+  /**
+   * Bring the label bar in sync with the current steps.
+   * <p>
+   * Every step is rendered as its label, preceded by a divider for all but the first step. Only the
+   * labels and dividers that have been added, removed or moved are touched, so the changes sent to
+   * the client scale with the change of the step list and not with the size of the stepper.
+   * <p>
+   * If a label window is set, only the labels of the steps inside the window are built and
+   * rendered, the labels of all other steps are dropped. The hidden steps before and after the
+   * window are summarized by an overflow marker each. In {@link LabelBarMode#FLEX} the dividers are
+   * drawn by the theme, so no divider components are added.
+   */
   private void refreshLabelBar() {
-    labelBar.removeAllComponents();
+    if (labelBarMode == LabelBarMode.CLIENT) {
+      refreshClientLabelBar();
+      return;
+    }
 
     List<Step> steps = getSteps();
-    for (int i = 0; i < steps.size(); i++) {
-      addStepLabel(steps.get(i));
-      if (i < steps.size() - 1) {
-        addStepLabelDivider();
+    int size = steps.size();
+    int windowSize = labelWindowSize > 0 ? Math.min(labelWindowSize, size) : size;
+    int current = Math.max(getStepIterator().indexOf(getCurrent()), 0);
+    int start = Math.max(0, Math.min(current - windowSize / 2, size - windowSize));
+    int end = start + windowSize;
+
+    boolean dividerComponents = labelBarMode == LabelBarMode.LAYOUT;
+    if (windowSize < size) {
+      getLabelProvider().retainStepLabels(new HashSet<>(steps.subList(start, end)));
+    }
+    List<Component> components = new ArrayList<>(windowSize * 2 + 3);
+    Map<Step, CssLayout> retainedDividers = new HashMap<>();
+
+    if (start > 0) {
+      leadingOverflow.setValue(getOverflowText(start));
+      components.add(leadingOverflow);
+    }
+
+    for (int i = start; i < end; i++) {
+      Step step = steps.get(i);
+      if (i > 0 && dividerComponents) {
+        components.add(getDivider(step, retainedDividers));
       }
+      components.add(getLabelProvider().getStepLabel(step));
     }
 
-    labelBar.iterator().forEachRemaining(c -> c.setWidth(100, Unit.PERCENTAGE));
+    if (end < size) {
+      trailingOverflow.setValue(getOverflowText(size - end));
+      if (dividerComponents) {
+        components.add(getDivider(steps.get(end), retainedDividers));
+      }
+      components.add(trailingOverflow);
+    }
+
+    dividers.clear();
+    dividers.putAll(retainedDividers);
+    syncLabelBar(components);
   }
 
-  private void addStepLabel(Step step) {
-    Component stepLabel = getLabelProvider().getStepLabel(step);
+  private void refreshClientLabelBar() {
+    if (clientLabelBar != null) {
+      clientLabelBar.refresh();
+    }
+  }
 
-    labelBar.addComponent(stepLabel);
-    labelBar.setExpandRatio(stepLabel, 1);
+  private Component getLabelBar() {
+    switch (labelBarMode) {
+      case FLEX:
+        return flexLabelBar;
+      case CLIENT:
+        return clientLabelBar;
+      default:
+        return labelBar;
+    }
+  }
+
+  private CssLayout getDivider(Step step, Map<Step, CssLayout> retainedDividers) {
+    CssLayout divider = dividers.get(step);
+    if (divider == null) {
+      divider = new CssLayout();
+      divider.addStyleName(STYLE_DIVIDER);
+    }
+    retainedDividers.put(step, divider);
+    return divider;
+  }
+
+  private static String getOverflowText(int hiddenSteps) {
+    return "\u2026 " + hiddenSteps;
+  }
+
+  private void syncLabelBar(List<Component> components) {
+    if (labelBarMode == LabelBarMode.FLEX) {
+      syncFlexLabelBar(components);
+      return;
+    }
+
+    List<Component> present = removeStaleComponents(labelBar, components);
+    for (int index = 0; index < components.size(); index++) {
+      Component component = components.get(index);
+      if (index < present.size() && present.get(index) == component) {
+        continue;
+      }
+
+      if (component.getParent() == labelBar) {
+        labelBar.removeComponent(component);
+        present.remove(component);
+      }
+      present.add(index, component);
+
+      if (component instanceof Label) {
+        labelBar.addComponent(component, index);
+        continue;
+      }
+
+      component.setWidth(100, Unit.PERCENTAGE);
+      labelBar.addComponent(component, index);
+      labelBar.setExpandRatio(component, component instanceof StepLabel
+                                         ? 1
+                                         : getDividerExpandRatio());
+    }
+  }
+
+  /**
+   * Remove the components that are not expected anymore from the given layout.
+   * <p>
+   * The ordered layouts are backed by linked lists, so the layout is walked once with its iterator
+   * and the remaining components are returned as list that can be accessed by index.
+   *
+   * @param layout
+   *     The layout to clean up
+   * @param components
+   *     The components that are expected in the layout
+   *
+   * @return The components remaining in the layout, in their order
+   */
+  private static List<Component> removeStaleComponents(ComponentContainer layout,
+                                                       List<Component> components) {
+    Set<Component> expected = new HashSet<>(components);
+    List<Component> present = new ArrayList<>(layout.getComponentCount());
+    List<Component> stale = new ArrayList<>();
+    layout.forEach(c -> (expected.contains(c) ? present : stale).add(c));
+    stale.forEach(layout::removeComponent);
+    return present;
   }
 
-  private void addStepLabelDivider() {
-    CssLayout divider = new CssLayout();
-    divider.addStyleName(STYLE_DIVIDER);
+  private void syncFlexLabelBar(List<Component> components) {
+    List<Component> present = removeStaleComponents(flexLabelBar, components);
+    for (int index = 0; index < components.size(); index++) {
+      Component component = components.get(index);
+      if (index < present.size() && present.get(index) == component) {
+        continue;
+      }
+
+      if (component.getParent() == flexLabelBar) {
+        flexLabelBar.removeComponent(component);
+        present.remove(component);
+      }
+      present.add(index, component);
 
-    labelBar.addComponent(divider);
-    labelBar.setExpandRatio(divider, getDividerExpandRatio());
+      if (component instanceof StepLabel) {
+        component.setWidth(100, Unit.PERCENTAGE);
+      }
+      flexLabelBar.addComponent(component, index);
+    }
+    flexLabelBar.first = components.isEmpty() ? null : components.get(0);
   }
 
   /**
@@ -186,9 +384,129 @@ public class HorizontalStepper extends AbstractStepper
    */
   public void setDividerExpandRatio(float dividerExpandRatio) {
     this.dividerExpandRatio = dividerExpandRatio;
+    dividers.values().forEach(divider -> labelBar.setExpandRatio(divider, dividerExpandRatio));
+    flexLabelBar.markAsDirty();
+    if (clientLabelBar != null) {
+      clientLabelBar.setDividerExpandRatio(dividerExpandRatio);
+    }
+  }
+
+  /**
+   * Get the way the label bar is rendered.
+   *
+   * @return The label bar mode
+   */
+  public LabelBarMode getLabelBarMode() {
+    return labelBarMode;
+  }
+
+  /**
+   * Set the way the label bar is rendered.
+   *
+   * @param labelBarMode
+   *     The label bar mode
+   *
+   * @see LabelBarMode
+   */
+  public void setLabelBarMode(LabelBarMode labelBarMode) {
+    Objects.requireNonNull(labelBarMode, "Label bar mode may not be null");
+    if (this.labelBarMode == labelBarMode) {
+      return;
+    }
+
+    Component previousLabelBar = getLabelBar();
+    labelBar.removeAllComponents();
+    flexLabelBar.removeAllComponents();
+    dividers.clear();
+
+    this.labelBarMode = labelBarMode;
+    if (labelBarMode == LabelBarMode.CLIENT) {
+      getLabelProvider().retainStepLabels(Collections.emptySet());
+      clientLabelBar = new StepLabelBar(getStepIterator(), getLabelProvider());
+      clientLabelBar.addStyleName(STYLE_LABEL_BAR);
+      clientLabelBar.setDividerExpandRatio(dividerExpandRatio);
+    } else {
+      clientLabelBar = null;
+    }
+
+    if (previousLabelBar.getParent() == rootLayout) {
+      rootLayout.replaceComponent(previousLabelBar, getLabelBar());
+    }
+    refreshLabelBar();
+  }
+
+  /**
+   * Get the maximum number of step labels shown in the label bar.
+   *
+   * @return The number of labels or <code>0</code> if the labels of all steps are shown
+   */
+  public int getLabelWindowSize() {
+    return labelWindowSize;
+  }
+
+  /**
+   * Set the maximum number of step labels shown in the label bar.
+   * <p>
+   * Only the labels of the steps around the current step are built and rendered and the steps
+   * outside of the window are replaced by an overflow marker showing the number of hidden steps.
+   * The window moves along as the current step changes, so the size of the label bar stays the same
+   * no matter how many steps the stepper has. Set to <code>0</code> (default) to show the labels of
+   * all steps.
+   *
+   * @param labelWindowSize
+   *     The number of labels to show
+   */
+  public void setLabelWindowSize(int labelWindowSize) {
+    if (labelWindowSize < 0) {
+      throw new IllegalArgumentException("Label window size may not be negative");
+    }
+
+    this.labelWindowSize = labelWindowSize;
     refreshLabelBar();
   }
 
+  /**
+   * Get the number of steps whose content is kept on the client.
+   *
+   * @return The number of steps or <code>0</code> if the content cache is disabled
+   */
+  public int getContentCacheSize() {
+    return contentCacheSize;
+  }
+
+  /**
+   * Set the number of recently active steps whose content is kept on the client.
+   * <p>
+   * Content of cached steps stays attached and is only hidden while the step is inactive, so moving
+   * back and forth between cached steps just toggles their visibility in the browser instead of
+   * sending their whole component hierarchy again. Set to <code>0</code> (default) to disable the
+   * cache and only attach the content of the active step.
+   * <p>
+   * Content released by the {@link ContentRetentionPolicy} is dropped from the cache as well, so
+   * the retention policy limits the cache if it keeps fewer steps.
+   *
+   * @param contentCacheSize
+   *     The number of steps to keep the content for (including the active step)
+   */
+  public void setContentCacheSize(int contentCacheSize) {
+    if (contentCacheSize < 0) {
+      throw new IllegalArgumentException("Content cache size may not be negative");
+    }
+
+    this.contentCacheSize = contentCacheSize;
+    if (contentCacheSize == 0) {
+      cachedContents.clear();
+      contentStack.removeAllComponents();
+      activeContent = null;
+      feedbackContent = null;
+      if (stepContent.getContent() == contentStack) {
+        showContent(getCurrent());
+      }
+    } else {
+      evictCachedContents();
+    }
+  }
+
   /**
    * Create a new linear, horizontal stepper for the given steps using a {@link StepIterator}.
    *
@@ -219,6 +537,7 @@ public class HorizontalStepper extends AbstractStepper
   @Override
   public void onStepperComplete(StepperCompleteEvent event) {
     buttonBar.forEach(b -> b.setVisible(false));
+    refreshClientLabelBar();
   }
 
   @Override
@@ -227,19 +546,26 @@ public class HorizontalStepper extends AbstractStepper
   }
 
   @Override
-  public void refresh() {
-    super.refresh();
+  protected void doRefresh() {
+    super.doRefresh();
     refreshLabelBar();
+    pruneCachedContents();
     setActive(getCurrent(), getCurrent(), false);
   }
 
+  @Override
+  public void refresh(Step step) {
+    super.refresh(step);
+    refreshClientLabelBar();
+  }
+
   @Override
   public void showFeedbackMessage(String message) {
     super.showFeedbackMessage(message);
 
     if (message == null) {
-      refreshLabelBar();
-      setActive(getCurrent(), getCurrent(), false);
+      hideTransitionLabel();
+      refresh();
     } else {
       buttonBar.forEach(button -> button.setVisible(false));
       showTransitionLabel(message);
@@ -251,19 +577,131 @@ public class HorizontalStepper extends AbstractStepper
     Label feedbackLabel = new Label(message);
     feedbackLabel.addStyleName(STYLE_FEEDBACK_MESSAGE);
 
-    labelBar.removeAllComponents();
-    labelBar.addComponent(feedbackLabel);
+    feedbackBar.removeAllComponents();
+    feedbackBar.addComponent(feedbackLabel);
+
+    if (getLabelBar().getParent() == rootLayout) {
+      rootLayout.replaceComponent(getLabelBar(), feedbackBar);
+    }
+  }
+
+  private void hideTransitionLabel() {
+    if (feedbackBar.getParent() == rootLayout) {
+      rootLayout.replaceComponent(feedbackBar, getLabelBar());
+    }
+    feedbackBar.removeAllComponents();
   }
 
   private void showSpinner() {
-    stepContent.setContent(new CenteredLayout(new Spinner()));
+    Component spinner = new CenteredLayout(new Spinner());
+
+    if (contentCacheSize > 0 && stepContent.getContent() == contentStack) {
+      hideActiveContent();
+      if (feedbackContent != null) {
+        contentStack.removeComponent(feedbackContent);
+      }
+      feedbackContent = spinner;
+      contentStack.addComponent(feedbackContent);
+    } else {
+      stepContent.setContent(spinner);
+    }
+  }
+
+  private void showContent(Step step) {
+    if (contentCacheSize <= 0) {
+      stepContent.setContent(step != null ? step.getContent() : null);
+      return;
+    }
+
+    if (stepContent.getContent() != contentStack) {
+      stepContent.setContent(contentStack);
+    }
+
+    if (feedbackContent != null) {
+      contentStack.removeComponent(feedbackContent);
+      feedbackContent = null;
+    }
+
+    hideActiveContent();
+
+    if (step == null) {
+      return;
+    }
+
+    CssLayout wrapper = cachedContents.remove(step);
+    if (wrapper == null) {
+      wrapper = new CssLayout();
+      wrapper.addStyleName(STYLE_STEP_CONTENT);
+      wrapper.setSizeFull();
+      contentStack.addComponent(wrapper);
+    }
+
+    Component content = step.getContent();
+    if (wrapper.getComponentCount() != 1 || wrapper.getComponent(0) != content) {
+      wrapper.removeAllComponents();
+      if (content != null) {
+        wrapper.addComponent(content);
+      }
+    }
+
+    wrapper.removeStyleName(STYLE_STEP_CONTENT_HIDDEN);
+    cachedContents.put(step, wrapper);
+    activeContent = wrapper;
+
+    evictCachedContents();
+  }
+
+  private void hideActiveContent() {
+    if (activeContent != null) {
+      activeContent.addStyleName(STYLE_STEP_CONTENT_HIDDEN);
+      activeContent = null;
+    }
+  }
+
+  private void evictCachedContents() {
+    Iterator<CssLayout> iterator = cachedContents.values().iterator();
+    while (cachedContents.size() > contentCacheSize && iterator.hasNext()) {
+      CssLayout wrapper = iterator.next();
+      if (wrapper != activeContent) {
+        contentStack.removeComponent(wrapper);
+        iterator.remove();
+      }
+    }
+  }
+
+  @Override
+  protected void contentReleased(Step step) {
+    CssLayout wrapper = cachedContents.get(step);
+    if (wrapper != null && wrapper != activeContent) {
+      contentStack.removeComponent(wrapper);
+      cachedContents.remove(step);
+    }
+  }
+
+  private void pruneCachedContents() {
+    Iterator<Map.Entry<Step, CssLayout>> iterator = cachedContents.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Step, CssLayout> entry = iterator.next();
+      if (getStepIterator().indexOf(entry.getKey()) < 0) {
+        contentStack.removeComponent(entry.getValue());
+        if (entry.getValue() == activeContent) {
+          activeContent = null;
+        }
+        iterator.remove();
+      }
+    }
   }
 
   @Override
   protected void setActive(Step step, Step previousStep, boolean fireEvent) {
-    stepContent.setContent(step.getContent());
+    flushRefresh();
+    showContent(step);
     refreshButtonBar(step);
 
+    if (labelWindowSize > 0 || labelBarMode == LabelBarMode.CLIENT) {
+      refreshLabelBar();
+    }
+
     super.setActive(step, previousStep, fireEvent);
   }
 
@@ -275,15 +713,15 @@ public class HorizontalStepper extends AbstractStepper
       return;
     }
 
-    Button backButton = step.getBackButton();
-    Button cancelButton = step.getCancelButton();
-    Button skipButton = step.getSkipButton();
-    Button nextButton = step.getNextButton();
+    Button backButton = getBackButton(step);
+    Button cancelButton = getCancelButton(step);
+    Button skipButton = getSkipButton(step);
+    Button nextButton = getNextButton(step);
 
     backButton.setVisible(getStepIterator().hasPrevious());
     cancelButton.setVisible(step.isCancellable());
-    skipButton.setVisible(step.isOptional());
-    nextButton.setVisible(!isComplete());
+    skipButton.setVisible(step.isOptional() && !step.isContentLoadPending());
+    nextButton.setVisible(!isComplete() && !step.isContentLoadPending());
 
     buttonBar.addComponent(backButton);
     Spacer.addToLayout(buttonBar);
@@ -297,6 +735,53 @@ public class HorizontalStepper extends AbstractStepper
     refresh();
   }
 
+  @Override
+  public void onElementsChange(ElementsChangeEvent<Step> event) {
+    refresh();
+  }
+
+  /**
+   * The ways the label bar of a horizontal stepper can be rendered.
+   */
+  public enum LabelBarMode {
+    /**
+     * Labels and dividers are components of a horizontal layout sized by expand ratios (default).
+     */
+    LAYOUT,
+    /**
+     * Labels are components of a css layout sized by flexbox, dividers are drawn by the theme. This
+     * avoids the client side layout measuring and needs about half of the components.
+     */
+    FLEX,
+    /**
+     * Labels are rendered by a client side widget from a compact state (see {@link StepLabelBar}),
+     * no label components are built. The label window is not applied in this mode, the state icons
+     * of the labels are the defaults of {@link StepLabel} and the widget set of the addon is
+     * required.
+     */
+    CLIENT
+  }
+
+  /**
+   * Css layout for the flex label bar that passes the expand ratios to the theme.
+   * <p>
+   * Every component but the first is preceded by a divider drawn by the theme, so it grows by the
+   * divider expand ratio in addition to its own share.
+   */
+  private final class FlexLabelBar extends CssLayout {
+
+    private Component first;
+
+    @Override
+    protected String getCss(Component component) {
+      float expandRatio = component instanceof StepLabel ? 1 : 0;
+      if (component != first) {
+        expandRatio += dividerExpandRatio;
+      }
+      return "flex-grow: " + expandRatio + "; --divider-expand-ratio: " + dividerExpandRatio;
+    }
+  }
+
   /**
    * Styles for the horizontal stepper.
    */
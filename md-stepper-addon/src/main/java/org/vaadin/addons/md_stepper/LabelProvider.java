@@ -5,12 +5,17 @@ import com.vaadin.shared.MouseEventDetails;
 
 import org.vaadin.addons.md_stepper.collection.ElementAddListener;
 import org.vaadin.addons.md_stepper.collection.ElementRemoveListener;
+import org.vaadin.addons.md_stepper.collection.ElementsChangeListener;
 import org.vaadin.addons.md_stepper.component.TextIcon;
+import org.vaadin.addons.md_stepper.event.StepPropertyChangeListener;
 import org.vaadin.addons.md_stepper.event.StepperCompleteListener;
 import org.vaadin.addons.md_stepper.event.StepperErrorListener;
 import org.vaadin.addons.md_stepper.event.StepperFeedbackListener;
+import org.vaadin.addons.md_stepper.util.ListenerRegistry;
 import org.vaadin.addons.md_stepper.util.SerializableSupplier;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -18,15 +23,35 @@ import java.util.Objects;
 
 /**
  * Provides labels for steps and handles the changes on them.
+ * <p>
+ * The state shown by the labels (e.g. nexted, skipped or erroneous) is kept by the provider as a
+ * few flags per step, so labels only have to exist for the steps that are actually shown. Labels
+ * are built on first access and pick up the current state of their step. Steppers that only show
+ * some of the labels can drop the others using {@link #retainStepLabels(Collection)}.
+ * <p>
+ * The provider listens to the property changes of the steps and only updates the label of the
+ * changed step.
  */
 public class LabelProvider
-    implements ElementAddListener<Step>, ElementRemoveListener<Step>,
-               StepperErrorListener, StepperFeedbackListener, StepperCompleteListener {
+    implements ElementAddListener<Step>, ElementRemoveListener<Step>, ElementsChangeListener<Step>,
+               StepperErrorListener, StepperFeedbackListener, StepperCompleteListener,
+               StepPropertyChangeListener {
+
+  private static final int FLAG_NEXTED = 1;
+  private static final int FLAG_SKIPPED = 1 << 1;
+  private static final int FLAG_EDITABLE = 1 << 2;
+  private static final int FLAG_CLICKABLE = 1 << 3;
 
   private final Map<Step, StepLabel> labels;
+  private final Map<Step, Integer> flags;
+  private final Map<Step, Throwable> errors;
+  private final ListenerRegistry<StepPropertyChangeListener> labelChangeListeners;
   private final StepIterator stepIterator;
   private final SerializableSupplier<StepLabel> labelFactory;
 
+  private Step activeStep;
+  private boolean refreshDeferred;
+
   /**
    * Create a new label provider for the given step iterator using the provided label factory.
    *
@@ -41,11 +66,16 @@ public class LabelProvider
     Objects.requireNonNull(labelFactory, "Label factory may not be null");
 
     this.labels = new HashMap<>();
+    this.flags = new HashMap<>();
+    this.errors = new HashMap<>();
+    this.labelChangeListeners = new ListenerRegistry<>();
     this.stepIterator = stepIterator;
     this.labelFactory = labelFactory;
 
     this.stepIterator.addElementAddListener(this);
     this.stepIterator.addElementRemoveListener(this);
+    this.stepIterator.addElementsChangeListener(this);
+    this.stepIterator.getSteps().forEach(step -> step.addStepPropertyChangeListener(this));
   }
 
   /**
@@ -59,10 +89,9 @@ public class LabelProvider
   protected void setSkipped(Step step, boolean skipped) {
     Objects.requireNonNull(step, "Step may not be null");
 
-    StepLabel label = getStepLabel(step);
-    label.setNexted(false);
-    label.setSkipped(skipped);
-    label.setEditable(skipped && step.isEditable());
+    int state = skipped ? FLAG_SKIPPED : 0;
+    state |= skipped && step.isEditable() ? FLAG_EDITABLE : 0;
+    updateFlags(step, state, FLAG_NEXTED | FLAG_SKIPPED | FLAG_EDITABLE);
   }
 
   /**
@@ -76,15 +105,32 @@ public class LabelProvider
   public StepLabel getStepLabel(Step step) {
     Objects.requireNonNull(step, "Step may not be null");
 
-    if (!stepIterator.getSteps().contains(step)) {
+    if (stepIterator.indexOf(step) < 0) {
       throw new NoSuchElementException("No such step");
     }
 
-    if (!labels.containsKey(step)) {
-      labels.put(step, buildStepLabel(step));
+    StepLabel label = labels.get(step);
+    if (label == null) {
+      label = buildStepLabel(step);
+      applyFlags(label, getFlags(step));
+      label.setError(errors.get(step));
+      label.setActive(step == activeStep);
+      labels.put(step, label);
     }
 
-    return labels.get(step);
+    return label;
+  }
+
+  /**
+   * Drop the labels of all steps that are not part of the given steps. The state of the steps is
+   * kept, so their labels show the same state once they are built again.
+   *
+   * @param steps
+   *     The steps whose labels are kept
+   */
+  public void retainStepLabels(Collection<Step> steps) {
+    Objects.requireNonNull(steps, "Steps may not be null");
+    labels.keySet().retainAll(steps);
   }
 
   /**
@@ -121,7 +167,7 @@ public class LabelProvider
     Resource icon = step.getIcon();
     return icon != null
                ? icon
-               : new TextIcon(String.valueOf(stepIterator.getSteps().indexOf(step) + 1));
+               : TextIcon.ofNumber(stepIterator.indexOf(step) + 1);
   }
 
   /**
@@ -135,10 +181,9 @@ public class LabelProvider
   protected void setCompleted(Step step, boolean completed) {
     Objects.requireNonNull(step, "Step may not be null");
 
-    StepLabel label = getStepLabel(step);
-    label.setSkipped(false);
-    label.setNexted(completed);
-    label.setEditable(completed && step.isEditable());
+    int state = completed ? FLAG_NEXTED : 0;
+    state |= completed && step.isEditable() ? FLAG_EDITABLE : 0;
+    updateFlags(step, state, FLAG_NEXTED | FLAG_SKIPPED | FLAG_EDITABLE);
   }
 
   @Override
@@ -146,6 +191,11 @@ public class LabelProvider
     setError(event.getStep(), event.getError());
   }
 
+  @Override
+  public void onStepperErrors(StepperErrorsEvent event) {
+    event.getErrors().forEach(this::setError);
+  }
+
   /**
    * Update the labels to show the given step as erroneous.
    *
@@ -156,13 +206,23 @@ public class LabelProvider
    */
   protected void setError(Step step, Throwable error) {
     Objects.requireNonNull(step, "Step may not be null");
-    getStepLabel(step).setError(error);
+
+    if (error != null) {
+      errors.put(step, error);
+    } else {
+      errors.remove(step);
+    }
+
+    StepLabel label = labels.get(step);
+    if (label != null) {
+      label.setError(error);
+    }
   }
 
   @Override
   public void onStepperFeedback(StepperFeedbackEvent event) {
     if (event.getFeedbackMessage() != null) {
-      stepIterator.getSteps().forEach(step -> setClickable(step, false));
+      new ArrayList<>(flags.keySet()).forEach(step -> setClickable(step, false));
     }
   }
 
@@ -175,12 +235,12 @@ public class LabelProvider
    *     The clickable state
    */
   protected void setClickable(Step step, boolean clickable) {
-    getStepLabel(step).setClickable(clickable);
+    updateFlags(step, clickable ? FLAG_CLICKABLE : 0, FLAG_CLICKABLE);
   }
 
   @Override
   public void onStepperComplete(StepperCompleteEvent event) {
-    labels.values().forEach(l -> l.setEditable(false));
+    new ArrayList<>(flags.keySet()).forEach(step -> updateFlags(step, 0, FLAG_EDITABLE));
     setActive(null);
   }
 
@@ -191,35 +251,251 @@ public class LabelProvider
    *     The step to show as active
    */
   protected void setActive(Step step) {
-    stepIterator.getSteps().forEach(s -> {
-      StepLabel stepLabel = getStepLabel(s);
-      stepLabel.setActive(false);
-      stepLabel.setClickable(step != null && stepIterator.hasMoveTo(s));
-    });
+    StepLabel previousLabel = activeStep != null ? labels.get(activeStep) : null;
+    if (previousLabel != null) {
+      previousLabel.setActive(false);
+    }
+
+    activeStep = step;
+    StepLabel activeLabel = step != null ? labels.get(step) : null;
+    if (activeLabel != null) {
+      activeLabel.setActive(true);
+    }
+
+    for (Step s : stepIterator.getSteps()) {
+      setClickable(s, step != null && stepIterator.hasMoveTo(s));
+    }
+  }
+
+  /**
+   * Check whether the given step is shown as active.
+   *
+   * @param step
+   *     The step to check
+   *
+   * @return <code>true</code> if the step is active, <code>false</code> else
+   */
+  public boolean isActive(Step step) {
+    return step != null && step == activeStep;
+  }
+
+  /**
+   * Check whether the given step is shown as nexted.
+   *
+   * @param step
+   *     The step to check
+   *
+   * @return <code>true</code> if the step is nexted, <code>false</code> else
+   */
+  public boolean isNexted(Step step) {
+    return (getFlags(step) & FLAG_NEXTED) != 0;
+  }
+
+  /**
+   * Check whether the given step is shown as skipped.
+   *
+   * @param step
+   *     The step to check
+   *
+   * @return <code>true</code> if the step is skipped, <code>false</code> else
+   */
+  public boolean isSkipped(Step step) {
+    return (getFlags(step) & FLAG_SKIPPED) != 0;
+  }
+
+  /**
+   * Check whether the given step is shown as editable.
+   *
+   * @param step
+   *     The step to check
+   *
+   * @return <code>true</code> if the step is editable, <code>false</code> else
+   */
+  public boolean isEditable(Step step) {
+    return (getFlags(step) & FLAG_EDITABLE) != 0;
+  }
+
+  /**
+   * Check whether the label of the given step is clickable.
+   *
+   * @param step
+   *     The step to check
+   *
+   * @return <code>true</code> if the label is clickable, <code>false</code> else
+   */
+  public boolean isClickable(Step step) {
+    return (getFlags(step) & FLAG_CLICKABLE) != 0;
+  }
+
+  /**
+   * Get the error shown for the given step.
+   *
+   * @param step
+   *     The step to get the error for
+   *
+   * @return The error or <code>null</code> if the step is not erroneous
+   */
+  public Throwable getError(Step step) {
+    return errors.get(step);
+  }
+
+  private int getFlags(Step step) {
+    Integer stepFlags = flags.get(step);
+    return stepFlags != null ? stepFlags : 0;
+  }
+
+  private void updateFlags(Step step, int set, int clear) {
+    int current = getFlags(step);
+    int updated = (current & ~clear) | set;
+    if (updated == current) {
+      return;
+    }
 
-    if (step != null) {
-      getStepLabel(step).setActive(true);
+    // Only steps with a state are kept, small values are taken from the Integer cache
+    if (updated == 0) {
+      flags.remove(step);
+    } else {
+      flags.put(step, updated);
     }
+
+    StepLabel label = labels.get(step);
+    if (label != null) {
+      applyFlags(label, updated);
+    }
+  }
+
+  private static void applyFlags(StepLabel label, int stepFlags) {
+    label.setNexted((stepFlags & FLAG_NEXTED) != 0);
+    label.setSkipped((stepFlags & FLAG_SKIPPED) != 0);
+    label.setEditable((stepFlags & FLAG_EDITABLE) != 0);
+    label.setClickable((stepFlags & FLAG_CLICKABLE) != 0);
   }
 
   @Override
   public void onElementRemove(ElementRemoveEvent<Step> event) {
-    labels.remove(event.getElement());
-    refresh();
+    removeStep(event.getElement());
+    refreshIfNotDeferred();
+  }
+
+  private void removeStep(Step step) {
+    step.removeStepPropertyChangeListener(this);
+    labels.remove(step);
+    flags.remove(step);
+    errors.remove(step);
+    if (step == activeStep) {
+      activeStep = null;
+    }
+  }
+
+  /**
+   * Set whether the labels are not updated right away after steps have been added or removed,
+   * because the owner of the provider calls {@link #refresh()} itself once it renders again.
+   *
+   * @param refreshDeferred
+   *     <code>true</code> if the owner refreshes the labels, <code>false</code> else
+   */
+  void setRefreshDeferred(boolean refreshDeferred) {
+    this.refreshDeferred = refreshDeferred;
   }
 
+  private void refreshIfNotDeferred() {
+    if (!refreshDeferred) {
+      refresh();
+    }
+  }
+
+  /**
+   * Update the labels of all steps.
+   */
   public void refresh() {
-    labels.entrySet().forEach(e -> {
-      Step step = e.getKey();
-      StepLabel stepLabel = e.getValue();
+    labels.keySet().forEach(this::refresh);
+  }
+
+  /**
+   * Update the icon, caption and description of the label of the given step.
+   *
+   * @param step
+   *     The step to update the label for
+   */
+  public void refresh(Step step) {
+    Objects.requireNonNull(step, "Step may not be null");
+
+    StepLabel stepLabel = labels.get(step);
+    if (stepLabel != null) {
       stepLabel.setIcon(buildStepLabelIcon(step));
       stepLabel.setCaption(step.getCaption());
       stepLabel.setDescription(step.getDescription());
-    });
+    }
+  }
+
+  @Override
+  public void onStepPropertyChange(StepPropertyChangeEvent event) {
+    Step step = event.getSource();
+    if (event.getProperty() == Property.EDITABLE
+        && (getFlags(step) & (FLAG_NEXTED | FLAG_SKIPPED)) != 0 && !stepIterator.isComplete()) {
+      updateFlags(step, step.isEditable() ? FLAG_EDITABLE : 0, FLAG_EDITABLE);
+    }
+
+    StepLabel stepLabel = labels.get(step);
+    if (stepLabel != null) {
+      updateStepLabel(step, stepLabel, event.getProperty());
+    }
+
+    labelChangeListeners.fire(event, StepPropertyChangeListener::onStepPropertyChange);
+  }
+
+  private void updateStepLabel(Step step, StepLabel stepLabel, Property property) {
+    switch (property) {
+      case CAPTION:
+        stepLabel.setCaption(step.getCaption());
+        break;
+      case DESCRIPTION:
+        stepLabel.setDescription(step.getDescription());
+        break;
+      case ICON:
+        stepLabel.setIcon(buildStepLabelIcon(step));
+        break;
+      default:
+        refresh(step);
+        break;
+    }
+  }
+
+  /**
+   * Add the given listener that is triggered after a property of a step has changed and its label
+   * (if it has been built) has been updated.
+   *
+   * @param listener
+   *     The listener to add
+   *
+   * @return <code>true</code> if the listener was successfully added, <code>false</code> else
+   */
+  public boolean addLabelChangeListener(StepPropertyChangeListener listener) {
+    return labelChangeListeners.add(listener);
+  }
+
+  /**
+   * Remove the given listener.
+   *
+   * @param listener
+   *     The listener to remove
+   *
+   * @return <code>true</code> if the listener was successfully removed, <code>false</code> else
+   */
+  public boolean removeLabelChangeListener(StepPropertyChangeListener listener) {
+    return labelChangeListeners.remove(listener);
   }
 
   @Override
   public void onElementAdd(ElementAddEvent<Step> event) {
-    refresh();
+    event.getElement().addStepPropertyChangeListener(this);
+    refreshIfNotDeferred();
+  }
+
+  @Override
+  public void onElementsChange(ElementsChangeEvent<Step> event) {
+    event.getRemovedElements().forEach(this::removeStep);
+    event.getAddedElements().forEach(step -> step.addStepPropertyChangeListener(this));
+    refreshIfNotDeferred();
   }
 }
@@ -5,10 +5,11 @@ import com.vaadin.ui.Button;
 import com.vaadin.ui.Component;
 import com.vaadin.ui.CustomComponent;
 import com.vaadin.ui.declarative.DesignContext;
-import com.vaadin.ui.themes.ValoTheme;
 
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import org.vaadin.addons.md_stepper.component.CenteredLayout;
+import org.vaadin.addons.md_stepper.component.Spinner;
 import org.vaadin.addons.md_stepper.event.StepActiveListener;
 import org.vaadin.addons.md_stepper.event.StepActiveListener.StepActiveEvent;
 import org.vaadin.addons.md_stepper.event.StepBackListener;
@@ -20,6 +21,9 @@ import org.vaadin.addons.md_stepper.event.StepCompleteListener.StepCompleteEvent
 import org.vaadin.addons.md_stepper.event.StepNextListener;
 import org.vaadin.addons.md_stepper.event.StepNextListener.StepNextEvent;
 import org.vaadin.addons.md_stepper.event.StepNotifier;
+import org.vaadin.addons.md_stepper.event.StepPropertyChangeListener;
+import org.vaadin.addons.md_stepper.event.StepPropertyChangeListener.Property;
+import org.vaadin.addons.md_stepper.event.StepPropertyChangeListener.StepPropertyChangeEvent;
 import org.vaadin.addons.md_stepper.event.StepResetListener;
 import org.vaadin.addons.md_stepper.event.StepResetListener.StepResetEvent;
 import org.vaadin.addons.md_stepper.event.StepSkipListener;
@@ -28,11 +32,13 @@ import org.vaadin.addons.md_stepper.event.StepperActions;
 import org.vaadin.addons.md_stepper.event.StepperListener;
 import org.vaadin.addons.md_stepper.iterator.SkippableElement;
 import org.vaadin.addons.md_stepper.state.StatefulElement;
+import org.vaadin.addons.md_stepper.util.ButtonUtils;
+import org.vaadin.addons.md_stepper.util.ListenerRegistry;
+import org.vaadin.addons.md_stepper.util.SerializableSupplier;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -45,14 +51,14 @@ public class Step extends CustomComponent
   private static final String DESIGN_TAG_BUTTONS = "buttons";
   private static final List<String> ALLOWED_CHILDREN = Arrays.asList(DESIGN_TAG_CONTENT,
                                                                      DESIGN_TAG_BUTTONS);
-
-  private final Collection<StepActiveListener> stepActiveListeners;
-  private final Collection<StepCompleteListener> stepCompleteListeners;
-  private final Collection<StepResetListener> stepResetListeners;
-  private final Collection<StepBackListener> stepBackListeners;
-  private final Collection<StepNextListener> stepNextListeners;
-  private final Collection<StepSkipListener> stepSkipListeners;
-  private final Collection<StepCancelListener> stepCancelListeners;
+  private final ListenerRegistry<StepActiveListener> stepActiveListeners;
+  private final ListenerRegistry<StepCompleteListener> stepCompleteListeners;
+  private final ListenerRegistry<StepResetListener> stepResetListeners;
+  private final ListenerRegistry<StepBackListener> stepBackListeners;
+  private final ListenerRegistry<StepNextListener> stepNextListeners;
+  private final ListenerRegistry<StepSkipListener> stepSkipListeners;
+  private final ListenerRegistry<StepCancelListener> stepCancelListeners;
+  private final ListenerRegistry<StepPropertyChangeListener> stepPropertyChangeListeners;
 
   private final StepBackListener stepperActionBack;
   private final StepNextListener stepperActionNext;
@@ -61,12 +67,20 @@ public class Step extends CustomComponent
   private String caption;
   private String description;
   private Component content;
+  private SerializableSupplier<Component> contentFactory;
+  private transient SoftReference<Component> softContent;
+  private boolean contentBuilt;
+  private StepContentLoader contentLoader;
+  private boolean contentLoaded;
+  private Component contentPlaceholder;
   private Resource icon;
 
   private boolean optional;
   private boolean editable;
   private boolean cancellable;
+  private boolean ownButtons;
   private boolean resetOnResubmit;
+  private StepValidator validator;
 
   private Button backButton;
   private Button nextButton;
@@ -94,13 +108,14 @@ public class Step extends CustomComponent
    *     <code>true</code> if the default actions should be added, <code>false</code> else
    */
   public Step(boolean defaultActions) {
-    this.stepActiveListeners = new HashSet<>();
-    this.stepCompleteListeners = new HashSet<>();
-    this.stepResetListeners = new HashSet<>();
-    this.stepBackListeners = new HashSet<>();
-    this.stepNextListeners = new HashSet<>();
-    this.stepSkipListeners = new HashSet<>();
-    this.stepCancelListeners = new HashSet<>();
+    this.stepActiveListeners = new ListenerRegistry<>();
+    this.stepCompleteListeners = new ListenerRegistry<>();
+    this.stepResetListeners = new ListenerRegistry<>();
+    this.stepBackListeners = new ListenerRegistry<>();
+    this.stepNextListeners = new ListenerRegistry<>();
+    this.stepSkipListeners = new ListenerRegistry<>();
+    this.stepCancelListeners = new ListenerRegistry<>();
+    this.stepPropertyChangeListeners = new ListenerRegistry<>();
 
     this.stepperActionBack = StepperActions::back;
     this.stepperActionNext = StepperActions::next;
@@ -109,6 +124,7 @@ public class Step extends CustomComponent
     this.caption = "";
     this.description = "";
     this.content = null;
+    this.contentFactory = null;
     this.icon = null;
 
     this.optional = false;
@@ -116,11 +132,6 @@ public class Step extends CustomComponent
     this.cancellable = false;
     this.resetOnResubmit = false;
 
-    this.backButton = createBackButton();
-    this.nextButton = createNextButton();
-    this.skipButton = createSkipButton();
-    this.cancelButton = createCancelButton();
-
     setDefaultActions(defaultActions);
   }
 
@@ -130,7 +141,7 @@ public class Step extends CustomComponent
    * @return The back button
    */
   protected Button createBackButton() {
-    return new Button("Back");
+    return ButtonUtils.createBackButton();
   }
 
   /**
@@ -139,9 +150,7 @@ public class Step extends CustomComponent
    * @return The next button
    */
   protected Button createNextButton() {
-    Button button = new Button("Next");
-    button.addStyleName(ValoTheme.BUTTON_PRIMARY);
-    return button;
+    return ButtonUtils.createNextButton();
   }
 
   /**
@@ -150,7 +159,7 @@ public class Step extends CustomComponent
    * @return The skip button
    */
   protected Button createSkipButton() {
-    return new Button("Skip");
+    return ButtonUtils.createSkipButton();
   }
 
   /**
@@ -159,7 +168,7 @@ public class Step extends CustomComponent
    * @return The cancel button
    */
   protected Button createCancelButton() {
-    return new Button("Cancel");
+    return ButtonUtils.createCancelButton();
   }
 
   /**
@@ -346,53 +355,83 @@ public class Step extends CustomComponent
     return stepActiveListeners.remove(listener);
   }
 
+  @Override
+  public boolean addStepPropertyChangeListener(StepPropertyChangeListener listener) {
+    Objects.requireNonNull(listener, "Listener may not be null");
+    return stepPropertyChangeListeners.add(listener);
+  }
+
+  @Override
+  public boolean removeStepPropertyChangeListener(StepPropertyChangeListener listener) {
+    Objects.requireNonNull(listener, "Listener may not be null");
+    return stepPropertyChangeListeners.remove(listener);
+  }
+
   public void notifyActive(Stepper stepper, Step previousStep) {
     Objects.requireNonNull(stepper, "Stepper may not be null");
 
-    StepActiveEvent activeEvent = new StepActiveEvent(stepper, this, previousStep);
-    stepActiveListeners.forEach(l -> l.onStepActive(activeEvent));
+    if (!stepActiveListeners.isEmpty()) {
+      stepActiveListeners.fire(new StepActiveEvent(stepper, this, previousStep),
+                               StepActiveListener::onStepActive);
+    }
   }
 
   public void notifyComplete(Stepper stepper) {
     Objects.requireNonNull(stepper, "Stepper may not be null");
 
-    StepCompleteEvent event = new StepCompleteEvent(stepper, this);
-    stepCompleteListeners.forEach(l -> l.onStepComplete(event));
+    if (!stepCompleteListeners.isEmpty()) {
+      stepCompleteListeners.fire(new StepCompleteEvent(stepper, this),
+                                 StepCompleteListener::onStepComplete);
+    }
   }
 
   public void notifyReset(Stepper stepper) {
     Objects.requireNonNull(stepper, "Stepper may not be null");
 
-    StepResetEvent event = new StepResetEvent(stepper, this);
-    stepResetListeners.forEach(l -> l.onStepReset(event));
+    if (!stepResetListeners.isEmpty()) {
+      stepResetListeners.fire(new StepResetEvent(stepper, this), StepResetListener::onStepReset);
+    }
   }
 
   public void notifyBack(Stepper stepper) {
     Objects.requireNonNull(stepper, "Stepper may not be null");
 
-    StepBackEvent event = new StepBackEvent(stepper, this);
-    stepBackListeners.forEach(l -> l.onStepBack(event));
+    if (!stepBackListeners.isEmpty()) {
+      stepBackListeners.fire(new StepBackEvent(stepper, this), StepBackListener::onStepBack);
+    }
   }
 
   public void notifyNext(Stepper stepper) {
     Objects.requireNonNull(stepper, "Stepper may not be null");
 
-    StepNextEvent event = new StepNextEvent(stepper, this);
-    stepNextListeners.forEach(l -> l.onStepNext(event));
+    if (!stepNextListeners.isEmpty()) {
+      stepNextListeners.fire(new StepNextEvent(stepper, this), StepNextListener::onStepNext);
+    }
   }
 
   public void notifySkip(Stepper stepper) {
     Objects.requireNonNull(stepper, "Stepper may not be null");
 
-    StepSkipEvent event = new StepSkipEvent(stepper, this);
-    stepSkipListeners.forEach(l -> l.onStepSkip(event));
+    if (!stepSkipListeners.isEmpty()) {
+      stepSkipListeners.fire(new StepSkipEvent(stepper, this), StepSkipListener::onStepSkip);
+    }
   }
 
   public void notifyCancel(Stepper stepper) {
     Objects.requireNonNull(stepper, "Stepper may not be null");
 
-    StepCancelEvent event = new StepCancelEvent(stepper, this);
-    stepCancelListeners.forEach(l -> l.onStepCancel(event));
+    if (!stepCancelListeners.isEmpty()) {
+      stepCancelListeners.fire(new StepCancelEvent(stepper, this),
+                               StepCancelListener::onStepCancel);
+    }
+  }
+
+  private void notifyPropertyChange(Property property, Object oldValue, Object newValue) {
+    if (!stepPropertyChangeListeners.isEmpty()) {
+      stepPropertyChangeListeners.fire(new StepPropertyChangeEvent(this, property, oldValue,
+                                                                   newValue),
+                                       StepPropertyChangeListener::onStepPropertyChange);
+    }
   }
 
   /**
@@ -407,7 +446,13 @@ public class Step extends CustomComponent
 
   @Override
   public void setCaption(String caption) {
+    String oldCaption = this.caption;
+    if (Objects.equals(oldCaption, caption)) {
+      return;
+    }
+
     this.caption = caption;
+    notifyPropertyChange(Property.CAPTION, oldCaption, caption);
   }
 
   /**
@@ -422,7 +467,13 @@ public class Step extends CustomComponent
 
   @Override
   public void setIcon(Resource icon) {
+    Resource oldIcon = this.icon;
+    if (Objects.equals(oldIcon, icon)) {
+      return;
+    }
+
     this.icon = icon;
+    notifyPropertyChange(Property.ICON, oldIcon, icon);
   }
 
   /**
@@ -437,7 +488,13 @@ public class Step extends CustomComponent
 
   @Override
   public void setDescription(String description) {
+    String oldDescription = this.description;
+    if (Objects.equals(oldDescription, description)) {
+      return;
+    }
+
     this.description = description;
+    notifyPropertyChange(Property.DESCRIPTION, oldDescription, description);
   }
 
   @Override
@@ -452,65 +509,265 @@ public class Step extends CustomComponent
 
   /**
    * Get the content of the step.
+   * <p>
+   * If the step has a content factory and the content has not been built yet, it is built now. If
+   * the step has a content loader that has not finished yet, a placeholder is returned.
    *
    * @return The content of the step
    */
   public Component getContent() {
+    if (isContentLoadPending()) {
+      if (contentPlaceholder == null) {
+        contentPlaceholder = new CenteredLayout(new Spinner());
+      }
+      return contentPlaceholder;
+    }
+    if (content == null && softContent != null) {
+      content = softContent.get();
+      softContent = null;
+    }
+    if (content == null && contentFactory != null) {
+      content = contentFactory.get();
+      contentBuilt = true;
+    }
     return content;
   }
 
+  /**
+   * Set the content of the step. Removes the content factory and loader if one was set.
+   *
+   * @param content
+   *     The content of the step
+   */
   public void setContent(Component content) {
     this.content = content;
+    this.contentFactory = null;
+    this.softContent = null;
+    this.contentBuilt = false;
+    this.contentLoader = null;
+  }
+
+  /**
+   * Get the factory that builds the content of the step.
+   *
+   * @return The content factory or <code>null</code> if the content was set directly
+   */
+  public SerializableSupplier<Component> getContentFactory() {
+    return contentFactory;
+  }
+
+  /**
+   * Set a factory that builds the content of the step once it is needed, i.e. the first time the
+   * step becomes active. Removes the content and loader if one was set.
+   *
+   * @param contentFactory
+   *     The factory to build the content
+   */
+  public void setContentFactory(SerializableSupplier<Component> contentFactory) {
+    this.contentFactory = contentFactory;
+    this.content = null;
+    this.softContent = null;
+    this.contentBuilt = false;
+    this.contentLoader = null;
+  }
+
+  /**
+   * Get the loader that loads the data of the step in the background.
+   *
+   * @return The content loader or <code>null</code> if the step has no loader
+   */
+  public StepContentLoader getContentLoader() {
+    return contentLoader;
+  }
+
+  /**
+   * Set a loader that loads the data of the step in the background each time the step becomes
+   * active until loading succeeded. A placeholder is shown as content of the step while loading.
+   * Removes the content and content factory if one was set.
+   *
+   * @param contentLoader
+   *     The loader to load the data of the step
+   */
+  public void setContentLoader(StepContentLoader contentLoader) {
+    this.contentLoader = contentLoader;
+    this.contentLoaded = false;
+    this.content = null;
+    this.contentFactory = null;
+    this.softContent = null;
+    this.contentBuilt = false;
+  }
+
+  /**
+   * Check whether the step has a content loader that has not finished loading yet.
+   *
+   * @return <code>true</code> if the content still has to be loaded, <code>false</code> else
+   */
+  boolean isContentLoadPending() {
+    return contentLoader != null && !contentLoaded;
+  }
+
+  /**
+   * Apply the result of the content loader, the content is built by the given factory from now on.
+   *
+   * @param loadedContentFactory
+   *     The factory returned by the content loader
+   */
+  void applyLoadedContent(SerializableSupplier<Component> loadedContentFactory) {
+    this.contentFactory = loadedContentFactory;
+    this.content = null;
+    this.softContent = null;
+    this.contentBuilt = false;
+    this.contentLoaded = true;
+    this.contentPlaceholder = null;
+  }
+
+  /**
+   * Check whether the content of the step has been built.
+   *
+   * @return <code>true</code> if the content exists, <code>false</code> if it still has to be built
+   * by the content factory
+   */
+  public boolean isContentMaterialized() {
+    return content != null || (softContent != null && softContent.get() != null);
+  }
+
+  /**
+   * Check whether the content of the step is kept strongly reachable.
+   *
+   * @return <code>true</code> if the content exists and is not only kept as soft reference,
+   * <code>false</code> else
+   */
+  boolean isContentRetained() {
+    return content != null;
+  }
+
+  /**
+   * Check whether the content of the step had been built by the content factory and has been
+   * released since.
+   *
+   * @return <code>true</code> if the content has been evicted, <code>false</code> else
+   */
+  boolean isContentEvicted() {
+    return contentBuilt && !isContentMaterialized();
   }
 
   /**
-   * Get the back button of the step.
+   * Release the content of the step, so it will be built again by the content factory the next
+   * time it is needed.
+   *
+   * @param soft
+   *     <code>true</code> to keep the content as soft reference until the garbage collector
+   *     reclaims it, <code>false</code> to drop it right away
+   *
+   * @return <code>true</code> if content has been released, <code>false</code> if the step has no
+   * content factory or no content
+   */
+  boolean releaseContent(boolean soft) {
+    if (contentFactory == null || content == null) {
+      return false;
+    }
+
+    softContent = soft ? new SoftReference<>(content) : null;
+    content = null;
+    return true;
+  }
+
+  /**
+   * Get the back button of the step. The button is created on first access.
    *
    * @return The back button of the step
    */
   public Button getBackButton() {
+    if (backButton == null) {
+      backButton = createBackButton();
+    }
     return backButton;
   }
 
+  /**
+   * Check whether the step has its own back button, i.e. it has been set or accessed before.
+   *
+   * @return <code>true</code> if the step has its own button, <code>false</code> else
+   */
+  boolean hasBackButton() {
+    return backButton != null;
+  }
+
   public void setBackButton(Button backButton) {
     this.backButton = backButton;
   }
 
   /**
-   * Get the next button of the step.
+   * Get the next button of the step. The button is created on first access.
    *
    * @return The next button of the step
    */
   public Button getNextButton() {
+    if (nextButton == null) {
+      nextButton = createNextButton();
+    }
     return nextButton;
   }
 
+  /**
+   * Check whether the step has its own next button, i.e. it has been set or accessed before.
+   *
+   * @return <code>true</code> if the step has its own button, <code>false</code> else
+   */
+  boolean hasNextButton() {
+    return nextButton != null;
+  }
+
   public void setNextButton(Button nextButton) {
     this.nextButton = nextButton;
   }
 
   /**
-   * Get the skip button of the step.
+   * Get the skip button of the step. The button is created on first access.
    *
    * @return The skip button of the step
    */
   public Button getSkipButton() {
+    if (skipButton == null) {
+      skipButton = createSkipButton();
+    }
     return skipButton;
   }
 
+  /**
+   * Check whether the step has its own skip button, i.e. it has been set or accessed before.
+   *
+   * @return <code>true</code> if the step has its own button, <code>false</code> else
+   */
+  boolean hasSkipButton() {
+    return skipButton != null;
+  }
+
   public void setSkipButton(Button skipButton) {
     this.skipButton = skipButton;
   }
 
   /**
-   * Get the cancel button of the step.
+   * Get the cancel button of the step. The button is created on first access.
    *
    * @return The cancel button of the step
    */
   public Button getCancelButton() {
+    if (cancelButton == null) {
+      cancelButton = createCancelButton();
+    }
     return cancelButton;
   }
 
+  /**
+   * Check whether the step has its own cancel button, i.e. it has been set or accessed before.
+   *
+   * @return <code>true</code> if the step has its own button, <code>false</code> else
+   */
+  boolean hasCancelButton() {
+    return cancelButton != null;
+  }
+
   public void setCancelButton(Button cancelButton) {
     this.cancelButton = cancelButton;
   }
@@ -521,7 +778,13 @@ public class Step extends CustomComponent
   }
 
   public void setEditable(boolean editable) {
+    boolean oldEditable = this.editable;
+    if (oldEditable == editable) {
+      return;
+    }
+
     this.editable = editable;
+    notifyPropertyChange(Property.EDITABLE, oldEditable, editable);
   }
 
   @Override
@@ -530,7 +793,13 @@ public class Step extends CustomComponent
   }
 
   public void setOptional(boolean optional) {
+    boolean oldOptional = this.optional;
+    if (oldOptional == optional) {
+      return;
+    }
+
     this.optional = optional;
+    notifyPropertyChange(Property.OPTIONAL, oldOptional, optional);
   }
 
   /**
@@ -554,6 +823,26 @@ public class Step extends CustomComponent
     this.resetOnResubmit = resetOnResubmit;
   }
 
+  /**
+   * Get the validator that checks the step before the stepper completes.
+   *
+   * @return The validator or <code>null</code> if the step has no validator
+   */
+  public StepValidator getValidator() {
+    return validator;
+  }
+
+  /**
+   * Set the validator that checks the step before the stepper completes (see
+   * {@link AbstractStepper#validateAll()}).
+   *
+   * @param validator
+   *     The validator of the step
+   */
+  public void setValidator(StepValidator validator) {
+    this.validator = validator;
+  }
+
   /**
    * Get the cancellable state of the step.
    *
@@ -567,6 +856,29 @@ public class Step extends CustomComponent
     this.cancellable = cancellable;
   }
 
+  /**
+   * Check whether the step always uses its own navigation buttons, even if the stepper shares its
+   * buttons between the steps.
+   *
+   * @return <code>true</code> if the step uses its own buttons, <code>false</code> else
+   */
+  public boolean isOwnButtons() {
+    return ownButtons;
+  }
+
+  /**
+   * Set whether the step always uses its own navigation buttons, even if the stepper shares its
+   * buttons between the steps (see {@link AbstractStepper#setSharedButtons(boolean)}).
+   * <p>
+   * Enable this for steps whose class overrides a button factory like {@link #createNextButton()}.
+   *
+   * @param ownButtons
+   *     <code>true</code> if the step uses its own buttons, <code>false</code> else
+   */
+  public void setOwnButtons(boolean ownButtons) {
+    this.ownButtons = ownButtons;
+  }
+
   enum StepAction {
     BACK, NEXT, SKIP, CANCEL;
 
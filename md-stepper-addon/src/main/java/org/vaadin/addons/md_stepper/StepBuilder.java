@@ -10,6 +10,7 @@ import org.vaadin.addons.md_stepper.event.StepCancelListener;
 import org.vaadin.addons.md_stepper.event.StepCompleteListener;
 import org.vaadin.addons.md_stepper.event.StepNextListener;
 import org.vaadin.addons.md_stepper.event.StepSkipListener;
+import org.vaadin.addons.md_stepper.util.SerializableSupplier;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -31,11 +32,15 @@ public final class StepBuilder {
   private String caption;
   private String description;
   private Component content;
+  private SerializableSupplier<Component> contentFactory;
+  private StepContentLoader contentLoader;
 
   private boolean optional;
   private boolean editable;
   private boolean cancellable;
+  private boolean ownButtons;
   private boolean resetOnResubmit;
+  private StepValidator validator;
   private boolean defaultActions;
 
   private Button backButton;
@@ -64,6 +69,22 @@ public final class StepBuilder {
 
   public StepBuilder withContent(Component content) {
     this.content = content;
+    this.contentFactory = null;
+    this.contentLoader = null;
+    return this;
+  }
+
+  public StepBuilder withContentFactory(SerializableSupplier<Component> contentFactory) {
+    this.contentFactory = contentFactory;
+    this.content = null;
+    this.contentLoader = null;
+    return this;
+  }
+
+  public StepBuilder withContentLoader(StepContentLoader contentLoader) {
+    this.contentLoader = contentLoader;
+    this.content = null;
+    this.contentFactory = null;
     return this;
   }
 
@@ -87,11 +108,21 @@ public final class StepBuilder {
     return this;
   }
 
+  public StepBuilder withValidator(StepValidator validator) {
+    this.validator = validator;
+    return this;
+  }
+
   public StepBuilder withCancellable(boolean cancellable) {
     this.cancellable = cancellable;
     return this;
   }
 
+  public StepBuilder withOwnButtons(boolean ownButtons) {
+    this.ownButtons = ownButtons;
+    return this;
+  }
+
   public StepBuilder withBackButton(Button backButton) {
     this.backButton = backButton;
     return this;
@@ -158,12 +189,20 @@ public final class StepBuilder {
 
     step.setCaption(caption);
     step.setDescription(description);
-    step.setContent(content);
+    if (contentLoader != null) {
+      step.setContentLoader(contentLoader);
+    } else if (contentFactory != null) {
+      step.setContentFactory(contentFactory);
+    } else {
+      step.setContent(content);
+    }
     step.setIcon(icon);
     step.setOptional(optional);
     step.setEditable(editable);
     step.setResetOnResubmit(resetOnResubmit);
+    step.setValidator(validator);
     step.setCancellable(cancellable);
+    step.setOwnButtons(ownButtons);
     step.setBackButton(backButton);
     step.setNextButton(nextButton);
     step.setSkipButton(skipButton);
@@ -0,0 +1,41 @@
+package org.vaadin.addons.md_stepper;
+
+import com.vaadin.ui.Component;
+
+import org.vaadin.addons.md_stepper.util.SerializableSupplier;
+
+import java.io.Serializable;
+
+/**
+ * Loader that loads the data of a step in the background before its content can be shown.
+ * <p>
+ * The loader is called by the stepper once the step becomes active, using the executor of the
+ * stepper and without holding the lock of the session. The returned factory is called afterwards
+ * with the lock held to build the content from the loaded data, e.g.:
+ * <pre>
+ * step.setContentLoader(s -&gt; {
+ *   Address address = addressService.fetch(customerId);
+ *   return () -&gt; new AddressForm(address);
+ * });
+ * </pre>
+ * Loading is cancelled (and the loading thread interrupted) as soon as the stepper moves to another
+ * step, so loaders should respond to interruption instead of finishing stale work. The next and
+ * skip buttons of the step are hidden until loading succeeded.
+ */
+@FunctionalInterface
+public interface StepContentLoader extends Serializable {
+
+  /**
+   * Load the data of the given step.
+   *
+   * @param step
+   *     The step to load the data for
+   *
+   * @return The factory that builds the content of the step from the loaded data, returning
+   * <code>null</code> is treated as failed loading
+   *
+   * @throws Exception
+   *     if the data could not be loaded, the exception is shown as error of the step
+   */
+  SerializableSupplier<Component> load(Step step) throws Exception;
+}
@@ -5,40 +5,63 @@ import org.vaadin.addons.md_stepper.collection.ElementAddListener;
 import org.vaadin.addons.md_stepper.collection.ElementAddListener.ElementAddEvent;
 import org.vaadin.addons.md_stepper.collection.ElementRemoveListener;
 import org.vaadin.addons.md_stepper.collection.ElementRemoveListener.ElementRemoveEvent;
+import org.vaadin.addons.md_stepper.collection.ElementsChangeListener;
+import org.vaadin.addons.md_stepper.collection.ElementsChangeListener.ElementsChangeEvent;
 import org.vaadin.addons.md_stepper.event.StepCompleteListener;
+import org.vaadin.addons.md_stepper.event.StepPropertyChangeListener;
 import org.vaadin.addons.md_stepper.event.StepResetListener;
 import org.vaadin.addons.md_stepper.iterator.AbstractObservableIterator;
 import org.vaadin.addons.md_stepper.iterator.NextListener;
 import org.vaadin.addons.md_stepper.iterator.SkipListener;
-import org.vaadin.addons.md_stepper.list.CircularList;
 import org.vaadin.addons.md_stepper.state.StateTracker;
 import org.vaadin.addons.md_stepper.state.StateTracker.State;
+import org.vaadin.addons.md_stepper.util.ListenerRegistry;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Iterator that is used to iterate over steps allowing iterations based upon the steps attributes.
+ * <p>
+ * The iterator maintains an index of the step positions and a version that changes whenever the
+ * current step, the state of a step or the step list changes. The navigation cursors (next open
+ * step, next and previous index) and the set of steps reachable from the current step are computed
+ * once per version. Changes to step attributes that affect the navigation (e.g.
+ * {@link Step#isEditable()}) change the version as well.
  */
 public class StepIterator extends AbstractObservableIterator<Step>
-    implements CollectionChangeNotifier<Step>, StepCompleteListener, StepResetListener {
+    implements CollectionChangeNotifier<Step>, StepCompleteListener, StepResetListener,
+               StepPropertyChangeListener {
 
-  private final Collection<ElementAddListener<Step>> elementAddListeners;
-  private final Collection<ElementRemoveListener<Step>> elementRemoveListeners;
+  private final ListenerRegistry<ElementAddListener<Step>> elementAddListeners;
+  private final ListenerRegistry<ElementRemoveListener<Step>> elementRemoveListeners;
+  private final ListenerRegistry<ElementsChangeListener<Step>> elementsChangeListeners;
 
   private final List<Step> steps;
-  private final StateTracker<Step> stateTracker;
+  private final Map<Step, Integer> positions;
+  private final StateTracker stateTracker;
 
   private boolean linear;
   private Step current;
 
+  private final BitSet reachable;
+
+  private long version;
+  private long navigationVersion;
+  private boolean complete;
+  private int nextOpenIndex;
+  private int nextIndex;
+  private int previousIndex;
+
   /**
    * Create a new, non-linear iterator with an empty step list.
    */
@@ -65,15 +88,19 @@ public class StepIterator extends AbstractObservableIterator<Step>
    *     <code>true</code> if the iterator should be linear, <code>false</code> else
    */
   public StepIterator(List<Step> steps, boolean linear) {
-    this.elementAddListeners = new HashSet<>();
-    this.elementRemoveListeners = new HashSet<>();
+    this.elementAddListeners = new ListenerRegistry<>();
+    this.elementRemoveListeners = new ListenerRegistry<>();
+    this.elementsChangeListeners = new ListenerRegistry<>();
 
     this.steps = new ArrayList<>();
-    this.stateTracker = new StateTracker<>();
+    this.positions = new HashMap<>();
+    this.reachable = new BitSet();
+    this.stateTracker = new StateTracker();
 
     this.linear = linear;
+    this.navigationVersion = -1;
 
-    steps.forEach(this::add);
+    addAll(steps);
   }
 
   /**
@@ -103,6 +130,7 @@ public class StepIterator extends AbstractObservableIterator<Step>
    */
   public void setLinear(boolean linear) {
     this.linear = linear;
+    incrementVersion();
   }
 
   /**
@@ -123,6 +151,39 @@ public class StepIterator extends AbstractObservableIterator<Step>
     return current;
   }
 
+  /**
+   * Get the position of the given step.
+   *
+   * @param step
+   *     The step to get the position for
+   *
+   * @return The position of the step or <code>-1</code> if the step is not part of this iterator
+   */
+  public int indexOf(Step step) {
+    Integer position = step != null ? positions.get(step) : null;
+    return position != null ? position : -1;
+  }
+
+  /**
+   * Get the current state version of the iterator.
+   * <p>
+   * The version changes whenever the current step, the state of a step or the step list changes.
+   *
+   * @return The version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Refresh the cached navigation state.
+   * <p>
+   * Use this method if an attribute of a step that affects the navigation has changed.
+   */
+  public void refresh() {
+    incrementVersion();
+  }
+
   protected boolean isTransitionAllowed(Step to) {
     return isTransitionAllowed(to, false);
   }
@@ -132,38 +193,118 @@ public class StepIterator extends AbstractObservableIterator<Step>
       return true;
     }
 
-    if (!steps.contains(to) || Objects.equals(current, to) || isComplete()) {
+    int toIndex = indexOf(to);
+    if (toIndex < 0 || Objects.equals(current, to) || isComplete()) {
       return false;
     }
 
-    if (stateTracker.getState(to) == State.VISITED && to.isEditable()) {
+    if (isVisited(toIndex) && to.isEditable()) {
       return true;
     }
 
-    List<Step> openSteps = CircularList.from(steps, steps.indexOf(current))
-                                       .stream()
-                                       .filter(s -> currentShouldBeComplete ||
-                                                    !Objects.equals(s, current))
-                                       .filter(
-                                           s -> stateTracker.getState(s) == State.UNVISITED)
-                                       .collect(Collectors.toList());
-
     if (linear) {
-      return openSteps.indexOf(to) == 0;
+      int currentIndex = indexOf(current);
+      boolean currentOpen = currentShouldBeComplete && currentIndex >= 0 &&
+                            !isVisited(currentIndex);
+      return !currentOpen && toIndex == nextOpenIndex;
     } else {
-      return openSteps.contains(to);
+      return !isVisited(toIndex);
+    }
+  }
+
+  private boolean isVisited(int index) {
+    return stateTracker.isVisited(index);
+  }
+
+  private void incrementVersion() {
+    version++;
+  }
+
+  private void updateNavigation() {
+    if (navigationVersion == version) {
+      return;
+    }
+
+    int size = steps.size();
+    int currentIndex = indexOf(current);
+
+    nextOpenIndex = findNextOpen(currentIndex);
+    nextIndex = -1;
+    previousIndex = -1;
+    complete = stateTracker.isComplete();
+
+    if (!complete) {
+      // All steps between the current and the next open step are visited
+      for (int offset = 1; offset <= size && nextIndex < 0; offset++) {
+        int index = (currentIndex + offset) % size;
+        if (index == currentIndex) {
+          break;
+        }
+
+        if (index == nextOpenIndex || steps.get(index).isEditable()) {
+          nextIndex = index;
+        }
+      }
+
+      for (int index = currentIndex - 1; index >= 0; index--) {
+        boolean allowed = isVisited(index)
+                          ? steps.get(index).isEditable()
+                          : !linear || index == nextOpenIndex;
+        if (allowed) {
+          previousIndex = index;
+          break;
+        }
+      }
+    }
+
+    updateReachable(currentIndex);
+    navigationVersion = version;
+  }
+
+  private void updateReachable(int currentIndex) {
+    reachable.clear();
+
+    if (complete) {
+      return;
+    }
+
+    boolean currentOpen = linear && currentIndex >= 0 && !isVisited(currentIndex);
+    for (int index = 0; index < steps.size(); index++) {
+      if (index == currentIndex) {
+        continue;
+      }
+
+      boolean allowed = isVisited(index)
+                        ? steps.get(index).isEditable()
+                        : !linear || (!currentOpen && index == nextOpenIndex);
+      reachable.set(index, allowed);
     }
   }
 
+  private int findNextOpen(int currentIndex) {
+    int index = stateTracker.nextUnvisited(currentIndex + 1);
+    if (index < 0 && currentIndex >= 0) {
+      index = stateTracker.nextUnvisited(0);
+      index = index < currentIndex ? index : -1;
+    }
+    return index;
+  }
+
+  private void reindex(int fromIndex) {
+    for (int index = fromIndex; index < steps.size(); index++) {
+      positions.put(steps.get(index), index);
+    }
+    incrementVersion();
+  }
+
   /**
    * Check if the iterator is complete and all steps have been visited.
    *
    * @return <code>true</code> if the iterator is complete, <code>false</code> else
    */
   public boolean isComplete() {
-    return steps.stream()
-                .map(stateTracker::getState)
-                .noneMatch(state -> state == State.UNVISITED);
+    updateNavigation();
+    return complete;
   }
 
   /**
@@ -175,17 +316,38 @@ public class StepIterator extends AbstractObservableIterator<Step>
    * @return <code>true</code> if the step is complete, <code>false</code> else
    */
   public boolean isStepComplete(Step step) {
-    return stateTracker.getState(step) == State.VISITED;
+    int index = indexOf(step);
+    return index >= 0 && isVisited(index);
   }
 
   @Override
   public void onStepComplete(StepCompleteEvent event) {
-    stateTracker.setState(event.getStep(), State.VISITED);
+    setState(event.getStep(), State.VISITED);
   }
 
   @Override
   public void onStepReset(StepResetEvent event) {
-    stateTracker.setState(event.getStep(), State.UNVISITED);
+    setState(event.getStep(), State.UNVISITED);
+  }
+
+  @Override
+  public void onStepPropertyChange(StepPropertyChangeEvent event) {
+    switch (event.getProperty()) {
+      case EDITABLE:
+      case OPTIONAL:
+        incrementVersion();
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void setState(Step step, State state) {
+    int index = indexOf(step);
+    if (index >= 0) {
+      stateTracker.setState(index, state);
+      incrementVersion();
+    }
   }
 
   @Override
@@ -208,6 +370,16 @@ public class StepIterator extends AbstractObservableIterator<Step>
     return elementRemoveListeners.remove(listener);
   }
 
+  @Override
+  public boolean addElementsChangeListener(ElementsChangeListener<Step> listener) {
+    return elementsChangeListeners.add(listener);
+  }
+
+  @Override
+  public boolean removeElementsChangeListener(ElementsChangeListener<Step> listener) {
+    return elementsChangeListeners.remove(listener);
+  }
+
   @Override
   public void moveTo(Step element) {
     if (!hasMoveTo(element)) {
@@ -216,12 +388,19 @@ public class StepIterator extends AbstractObservableIterator<Step>
 
     Step tmp = current;
     current = element;
+    incrementVersion();
     notifyMoveTo(tmp, current);
   }
 
   @Override
   public boolean hasMoveTo(Step element) {
-    return isTransitionAllowed(element, linear);
+    if (element == null) {
+      return true;
+    }
+
+    updateNavigation();
+    int index = indexOf(element);
+    return index >= 0 && reachable.get(index);
   }
 
   @Override
@@ -232,6 +411,7 @@ public class StepIterator extends AbstractObservableIterator<Step>
 
     Step tmp = current;
     current = steps.get(previousIndex());
+    incrementVersion();
     notifyPrevious(tmp, current);
 
     return current;
@@ -244,26 +424,55 @@ public class StepIterator extends AbstractObservableIterator<Step>
 
   @Override
   public int previousIndex() {
-    return steps.stream()
-                .limit(current != null ? steps.indexOf(current) : 0)
-                .filter(this::isTransitionAllowed)
-                .reduce((first, second) -> second)
-                .map(steps::indexOf)
-                .orElse(-1);
+    updateNavigation();
+    return previousIndex;
   }
 
   /**
-   * Removes the current step and moves on to the next step.
+   * Removes the current step and moves on to the next step. If there is no next step, the iterator
+   * is reset and needs to be started again.
    */
   @Override
   public void remove() {
-    stateTracker.remove(current);
-    steps.remove(current);
+    int currentIndex = indexOf(current);
+    int successorIndex = Math.max(currentIndex, 0);
+    if (currentIndex >= 0) {
+      stateTracker.remove(currentIndex);
+      steps.remove(currentIndex);
+      positions.remove(current);
+      reindex(currentIndex);
+    }
+
+    if (!elementRemoveListeners.isEmpty()) {
+      elementRemoveListeners.fire(new ElementRemoveEvent<>(steps, current),
+                                  ElementRemoveListener::onElementRemove);
+    }
 
-    ElementRemoveEvent<Step> event = new ElementRemoveEvent<>(steps, current);
-    elementRemoveListeners.forEach(l -> l.onElementRemove(event));
+    moveAfterRemoval(successorIndex);
+  }
 
-    moveTo(steps.get(nextIndex()));
+  /**
+   * Move on from a removed current step to the first reachable step at or after the position the
+   * removed step has left behind, or reset the iterator if no step is reachable.
+   */
+  private void moveAfterRemoval(int successorIndex) {
+    int size = steps.size();
+    for (int offset = 0; offset < size; offset++) {
+      Step step = steps.get((successorIndex + offset) % size);
+      if (hasMoveTo(step)) {
+        moveTo(step);
+        return;
+      }
+    }
+    moveTo(null);
+  }
+
+  private List<Step> checkNewSteps(Collection<Step> newSteps) {
+    List<Step> checked = new ArrayList<>(newSteps);
+    if (new HashSet<>(checked).size() != checked.size()) {
+      throw new IllegalArgumentException("Steps may not contain duplicates");
+    }
+    return checked;
   }
 
   @Override
@@ -273,15 +482,177 @@ public class StepIterator extends AbstractObservableIterator<Step>
 
   @Override
   public void add(Step step) {
-    Integer insertIndex = Optional.ofNullable(current)
-                                  .map(s -> steps.indexOf(current) + 1)
-                                  .orElse(steps.size());
+    int insertIndex = current != null ? indexOf(current) + 1 : steps.size();
     steps.add(insertIndex, step);
+    stateTracker.insert(insertIndex);
+    reindex(insertIndex);
     step.addStepCompleteListener(this);
     step.addStepResetListener(this);
+    step.addStepPropertyChangeListener(this);
+
+    if (!elementAddListeners.isEmpty()) {
+      elementAddListeners.fire(new ElementAddEvent<>(steps, step),
+                               ElementAddListener::onElementAdd);
+    }
+  }
+
+  /**
+   * Add the given steps after the current step (or at the end if there is no current step).
+   * <p>
+   * The step list is changed once and a single {@link ElementsChangeEvent} is fired.
+   *
+   * @param stepsToAdd
+   *     The steps to add
+   *
+   * @throws IllegalArgumentException
+   *     if the steps contain duplicates or steps that are already part of the iterator
+   */
+  public void addAll(Collection<Step> stepsToAdd) {
+    Objects.requireNonNull(stepsToAdd, "Steps may not be null");
+    if (stepsToAdd.isEmpty()) {
+      return;
+    }
+
+    List<Step> added = checkNewSteps(stepsToAdd);
+    if (added.stream().anyMatch(positions::containsKey)) {
+      throw new IllegalArgumentException("Steps may not be added twice");
+    }
+
+    int insertIndex = current != null ? indexOf(current) + 1 : steps.size();
+    steps.addAll(insertIndex, added);
+    stateTracker.insert(insertIndex, added.size());
+    for (Step step : added) {
+      step.addStepCompleteListener(this);
+      step.addStepResetListener(this);
+      step.addStepPropertyChangeListener(this);
+    }
+    reindex(insertIndex);
 
-    ElementAddEvent<Step> event = new ElementAddEvent<>(steps, step);
-    elementAddListeners.forEach(l -> l.onElementAdd(event));
+    notifyElementsChange(added, insertIndex, Collections.emptyList(), new int[0]);
+  }
+
+  /**
+   * Remove the given steps.
+   * <p>
+   * The step list is changed once and a single {@link ElementsChangeEvent} is fired. If the current
+   * step is removed, the iterator moves on to the next step, or is reset if there is no next step.
+   *
+   * @param stepsToRemove
+   *     The steps to remove
+   */
+  public void removeAll(Collection<Step> stepsToRemove) {
+    Objects.requireNonNull(stepsToRemove, "Steps may not be null");
+
+    BitSet removedPositions = new BitSet(steps.size());
+    for (Step step : stepsToRemove) {
+      Integer index = positions.get(step);
+      if (index != null) {
+        removedPositions.set(index);
+      }
+    }
+
+    if (removedPositions.isEmpty()) {
+      return;
+    }
+
+    // Compact the step list in a single pass
+    int currentIndex = indexOf(current);
+    List<Step> removed = new ArrayList<>(removedPositions.cardinality());
+    int[] removedIndices = new int[removedPositions.cardinality()];
+    int firstIndex = removedPositions.nextSetBit(0);
+    int target = firstIndex;
+    for (int index = firstIndex; index < steps.size(); index++) {
+      Step step = steps.get(index);
+      if (removedPositions.get(index)) {
+        removedIndices[removed.size()] = index;
+        removed.add(step);
+        positions.remove(step);
+        step.removeStepCompleteListener(this);
+        step.removeStepResetListener(this);
+        step.removeStepPropertyChangeListener(this);
+      } else {
+        steps.set(target++, step);
+      }
+    }
+    steps.subList(target, steps.size()).clear();
+    stateTracker.removeAll(removedPositions);
+    reindex(firstIndex);
+
+    notifyElementsChange(Collections.emptyList(), firstIndex, removed, removedIndices);
+
+    if (currentIndex >= 0 && removedPositions.get(currentIndex)) {
+      moveAfterRemoval(currentIndex - removedPositions.get(0, currentIndex).cardinality());
+    }
+  }
+
+  /**
+   * Replace all steps with the given steps.
+   * <p>
+   * The step list is changed once and a single {@link ElementsChangeEvent} is fired. Steps that are
+   * part of both lists keep their state. If the current step is not part of the new steps, the
+   * iterator is reset and needs to be started again.
+   *
+   * @param newSteps
+   *     The new steps
+   *
+   * @throws IllegalArgumentException
+   *     if the new steps contain duplicates
+   */
+  public void replaceAll(Collection<Step> newSteps) {
+    Objects.requireNonNull(newSteps, "Steps may not be null");
+    newSteps = checkNewSteps(newSteps);
+
+    List<Step> oldSteps = new ArrayList<>(steps);
+    Collection<Step> kept = new LinkedHashSet<>(newSteps);
+    kept.retainAll(positions.keySet());
+    Collection<Step> visited = new HashSet<>();
+    kept.stream().filter(this::isStepComplete).forEach(visited::add);
+
+    steps.clear();
+    steps.addAll(newSteps);
+    positions.clear();
+    stateTracker.clear();
+    for (int index = 0; index < steps.size(); index++) {
+      Step step = steps.get(index);
+      stateTracker.insert(index);
+      if (visited.contains(step)) {
+        stateTracker.setState(index, State.VISITED);
+      }
+      if (!kept.contains(step)) {
+        step.addStepCompleteListener(this);
+        step.addStepResetListener(this);
+        step.addStepPropertyChangeListener(this);
+      }
+    }
+    reindex(0);
+
+    if (!kept.contains(current)) {
+      current = null;
+    }
+
+    List<Step> removed = new ArrayList<>();
+    List<Integer> removedIndices = new ArrayList<>();
+    for (int index = 0; index < oldSteps.size(); index++) {
+      Step step = oldSteps.get(index);
+      if (!kept.contains(step)) {
+        step.removeStepCompleteListener(this);
+        step.removeStepResetListener(this);
+        step.removeStepPropertyChangeListener(this);
+        removed.add(step);
+        removedIndices.add(index);
+      }
+    }
+    notifyElementsChange(new ArrayList<>(steps), 0, removed,
+                         removedIndices.stream().mapToInt(Integer::intValue).toArray());
+  }
+
+  private void notifyElementsChange(List<Step> added, int addedFromIndex, List<Step> removed,
+                                    int[] removedIndices) {
+    if (!elementsChangeListeners.isEmpty()) {
+      elementsChangeListeners.fire(new ElementsChangeEvent<>(steps, added, addedFromIndex, removed,
+                                                             removedIndices),
+                                   ElementsChangeListener::onElementsChange);
+    }
   }
 
   @Override
@@ -292,14 +663,15 @@ public class StepIterator extends AbstractObservableIterator<Step>
 
     Step tmp = current;
     current = steps.get(nextIndex());
+    incrementVersion();
 
-    if (tmp == null) {
+    if (tmp == null && !startListeners.isEmpty()) {
       notifyStart(new NextListener.NextEvent<>(this, null, current));
     }
 
     notifyNext(tmp, current);
 
-    if (!hasSkip() && !hasNext()) {
+    if (!endListeners.isEmpty() && !hasSkip() && !hasNext()) {
       notifyEnd(new NextListener.NextEvent<>(this, tmp, current));
     }
 
@@ -313,12 +685,8 @@ public class StepIterator extends AbstractObservableIterator<Step>
 
   @Override
   public int nextIndex() {
-    return CircularList.from(steps, steps.indexOf(current))
-                       .stream()
-                       .filter(this::isTransitionAllowed)
-                       .findFirst()
-                       .map(steps::indexOf)
-                       .orElse(-1);
+    updateNavigation();
+    return nextIndex;
   }
 
   @Override
@@ -334,14 +702,15 @@ public class StepIterator extends AbstractObservableIterator<Step>
 
     Step tmp = current;
     current = steps.get(nextIndex());
+    incrementVersion();
 
-    if (tmp == null) {
+    if (tmp == null && !startListeners.isEmpty()) {
       notifyStart(new SkipListener.SkipEvent<>(this, null, current));
     }
 
     notifySkip(tmp, current);
 
-    if (!hasSkip() && !hasNext()) {
+    if (!endListeners.isEmpty() && !hasSkip() && !hasNext()) {
       notifyEnd(new SkipListener.SkipEvent<>(this, tmp, current));
     }
 
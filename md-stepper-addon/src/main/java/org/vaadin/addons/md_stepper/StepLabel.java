@@ -14,8 +14,10 @@ import com.vaadin.ui.Label;
 import com.vaadin.ui.VerticalLayout;
 import com.vaadin.ui.themes.ValoTheme;
 
+import org.vaadin.addons.md_stepper.util.IconUtils;
 import org.vaadin.addons.md_stepper.util.StringUtils;
 
+import java.util.EnumSet;
 import java.util.Objects;
 
 /**
@@ -49,6 +51,7 @@ public class StepLabel extends CustomComponent
   private final Label captionLabel;
   private final Label descriptionLabel;
   private final VerticalLayout captionWrapper;
+  private final EnumSet<Part> dirtyParts;
 
   private FontIcon iconNexted;
   private FontIcon iconSkipped;
@@ -63,6 +66,8 @@ public class StepLabel extends CustomComponent
   private boolean skipped;
   private boolean editable;
   private boolean clickable;
+  private boolean captionVisible;
+  private boolean descriptionVisible;
   private Throwable error;
 
   /**
@@ -89,6 +94,9 @@ public class StepLabel extends CustomComponent
     skipped = false;
     editable = false;
     clickable = false;
+    captionVisible = true;
+    descriptionVisible = true;
+    dirtyParts = EnumSet.allOf(Part.class);
 
     iconLabel = new Label();
     iconLabel.setWidthUndefined();
@@ -176,8 +184,10 @@ public class StepLabel extends CustomComponent
 
   @Override
   public void setCaption(String caption) {
-    this.caption = caption;
-    markAsDirty();
+    if (!Objects.equals(this.caption, caption)) {
+      this.caption = caption;
+      markPartDirty(Part.CAPTION);
+    }
   }
 
   @Override
@@ -191,8 +201,10 @@ public class StepLabel extends CustomComponent
       throw new IllegalArgumentException("Only FontIcons are allowed");
     }
 
-    this.icon = (FontIcon) icon;
-    markAsDirty();
+    if (!Objects.equals(this.icon, icon)) {
+      this.icon = (FontIcon) icon;
+      markPartDirty(Part.ICON);
+    }
   }
 
   @Override
@@ -202,48 +214,84 @@ public class StepLabel extends CustomComponent
 
   @Override
   public void setDescription(String description) {
-    this.description = description;
-    markAsDirty();
+    if (!Objects.equals(this.description, description)) {
+      this.description = description;
+      markPartDirty(Part.DESCRIPTION);
+    }
   }
 
   @Override
   public void beforeClientResponse(boolean initial) {
-    setupIcon();
-    setupCaption();
-    setupDescription();
-    setupLabelPositions();
-    setupStyles();
-    super.beforeClientResponse(initial);
-  }
+    if (dirtyParts.contains(Part.ICON)) {
+      setupIcon();
+    }
 
-  private void setupIcon() {
-    iconLabel.setValue(icon != null ? icon.getHtml() : null);
-    if (nexted) {
-      iconLabel.setValue(getIconNexted().getHtml());
+    boolean captionDirty = dirtyParts.contains(Part.CAPTION);
+    boolean descriptionDirty = dirtyParts.contains(Part.DESCRIPTION);
+    if (captionDirty) {
+      setupCaption();
     }
-    if (skipped) {
-      iconLabel.setValue(getIconSkipped().getHtml());
+    if (descriptionDirty) {
+      setupDescription();
     }
-    if (editable) {
-      iconLabel.setValue(getIconEditable().getHtml());
+    if (captionDirty || descriptionDirty) {
+      setupLabelPositions();
     }
+
+    if (dirtyParts.contains(Part.STYLES)) {
+      setupStyles();
+    }
+
+    dirtyParts.clear();
+    super.beforeClientResponse(initial);
+  }
+
+  /**
+   * Mark the given part of the label to be recomputed before the next response.
+   *
+   * @param part
+   *     The part that has changed
+   */
+  private void markPartDirty(Part part) {
+    dirtyParts.add(part);
+    markAsDirty();
+  }
+
+  /**
+   * Get the icon that is currently shown, depending on the state of the label.
+   *
+   * @return The shown icon or <code>null</code> if no icon is shown
+   */
+  FontIcon getShownIcon() {
     if (error != null) {
-      iconLabel.setValue(getIconError().getHtml());
+      return getIconError();
+    } else if (editable) {
+      return getIconEditable();
+    } else if (skipped) {
+      return getIconSkipped();
+    } else if (nexted) {
+      return getIconNexted();
+    }
+    return icon;
+  }
+
+  private void setupIcon() {
+    String html = IconUtils.getHtml(getShownIcon());
+    if (!Objects.equals(iconLabel.getValue(), html)) {
+      iconLabel.setValue(html);
     }
-    iconLabel.setVisible(iconLabel.getValue() != null && !"".equals(iconLabel.getValue()));
+    iconLabel.setVisible(html != null && !"".equals(html));
   }
 
   private void setupCaption() {
     captionLabel.setValue(caption);
-    captionLabel.setVisible(!StringUtils.isBlank(captionLabel.getValue()));
+    captionLabel.setVisible(captionVisible && !StringUtils.isBlank(caption));
   }
 
   private void setupDescription() {
-    descriptionLabel.setValue(description);
-    if (error != null) {
-      descriptionLabel.setValue(error.getLocalizedMessage());
-    }
-    descriptionLabel.setVisible(!StringUtils.isBlank(descriptionLabel.getValue()));
+    String shownDescription = error != null ? error.getLocalizedMessage() : description;
+    descriptionLabel.setValue(shownDescription);
+    descriptionLabel.setVisible(descriptionVisible && !StringUtils.isBlank(shownDescription));
   }
 
   private void setupLabelPositions() {
@@ -280,6 +328,7 @@ public class StepLabel extends CustomComponent
   public void setIconNexted(FontIcon iconNexted) {
     Objects.requireNonNull(iconNexted, "icon may not be null");
     this.iconNexted = iconNexted;
+    markPartDirty(Part.ICON);
   }
 
   /**
@@ -300,6 +349,7 @@ public class StepLabel extends CustomComponent
   public void setIconSkipped(FontIcon iconSkipped) {
     Objects.requireNonNull(iconSkipped, "icon may not be null");
     this.iconSkipped = iconSkipped;
+    markPartDirty(Part.ICON);
   }
 
   /**
@@ -320,6 +370,7 @@ public class StepLabel extends CustomComponent
   public void setIconEditable(FontIcon iconEditable) {
     Objects.requireNonNull(iconEditable, "icon may not be null");
     this.iconEditable = iconEditable;
+    markPartDirty(Part.ICON);
   }
 
   /**
@@ -340,6 +391,7 @@ public class StepLabel extends CustomComponent
   public void setIconError(FontIcon iconError) {
     Objects.requireNonNull(iconError, "icon may not be null");
     this.iconError = iconError;
+    markPartDirty(Part.ICON);
   }
 
   private void setupSinglePosition(Component component, boolean singlePosition) {
@@ -372,8 +424,10 @@ public class StepLabel extends CustomComponent
    *     <code>true</code> if it is be active, <code>false</code> else
    */
   public void setActive(boolean active) {
-    this.active = active;
-    markAsDirty();
+    if (this.active != active) {
+      this.active = active;
+      markPartDirty(Part.STYLES);
+    }
   }
 
   /**
@@ -392,8 +446,10 @@ public class StepLabel extends CustomComponent
    *     <code>true</code> if it is be clickable, <code>false</code> else
    */
   public void setClickable(boolean clickable) {
-    this.clickable = clickable;
-    markAsDirty();
+    if (this.clickable != clickable) {
+      this.clickable = clickable;
+      markPartDirty(Part.STYLES);
+    }
   }
 
   /**
@@ -412,8 +468,12 @@ public class StepLabel extends CustomComponent
    *     The error to show
    */
   public void setError(Throwable error) {
-    this.error = error;
-    markAsDirty();
+    if (this.error != error) {
+      this.error = error;
+      dirtyParts.add(Part.ICON);
+      dirtyParts.add(Part.DESCRIPTION);
+      markPartDirty(Part.STYLES);
+    }
   }
 
   /**
@@ -432,8 +492,11 @@ public class StepLabel extends CustomComponent
    *     <code>true</code> if it is nexted, <code>false</code> else
    */
   public void setNexted(boolean nexted) {
-    this.nexted = nexted;
-    markAsDirty();
+    if (this.nexted != nexted) {
+      this.nexted = nexted;
+      dirtyParts.add(Part.ICON);
+      markPartDirty(Part.STYLES);
+    }
   }
 
   /**
@@ -452,8 +515,11 @@ public class StepLabel extends CustomComponent
    *     <code>true</code> if it is skipped, <code>false</code> else
    */
   public void setSkipped(boolean skipped) {
-    this.skipped = skipped;
-    markAsDirty();
+    if (this.skipped != skipped) {
+      this.skipped = skipped;
+      dirtyParts.add(Part.ICON);
+      markPartDirty(Part.STYLES);
+    }
   }
 
   /**
@@ -472,8 +538,11 @@ public class StepLabel extends CustomComponent
    *     <code>true</code> if it is editable, <code>false</code> else
    */
   public void setEditable(boolean editable) {
-    this.editable = editable;
-    markAsDirty();
+    if (this.editable != editable) {
+      this.editable = editable;
+      dirtyParts.add(Part.ICON);
+      markPartDirty(Part.STYLES);
+    }
   }
 
   /**
@@ -483,8 +552,10 @@ public class StepLabel extends CustomComponent
    *     <code>true</code> if it should be visible, <code>false</code> else
    */
   public void setCaptionVisible(boolean visible) {
-    captionLabel.setVisible(visible);
-    markAsDirty();
+    if (captionVisible != visible) {
+      captionVisible = visible;
+      markPartDirty(Part.CAPTION);
+    }
   }
 
   /**
@@ -494,8 +565,20 @@ public class StepLabel extends CustomComponent
    *     <code>true</code> if it should be visible, <code>false</code> else
    */
   public void setDescriptionVisible(boolean visible) {
-    descriptionLabel.setVisible(visible);
-    markAsDirty();
+    if (descriptionVisible != visible) {
+      descriptionVisible = visible;
+      markPartDirty(Part.DESCRIPTION);
+    }
+  }
+
+  /**
+   * The parts of the label that are recomputed independently.
+   */
+  private enum Part {
+    ICON,
+    CAPTION,
+    DESCRIPTION,
+    STYLES
   }
 
   /**
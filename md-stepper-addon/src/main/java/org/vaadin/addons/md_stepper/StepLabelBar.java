@@ -0,0 +1,220 @@
+package org.vaadin.addons.md_stepper;
+
+import com.vaadin.server.FontIcon;
+import com.vaadin.server.Resource;
+import com.vaadin.ui.AbstractComponent;
+
+import org.vaadin.addons.md_stepper.client.StepLabelBarClientRpc;
+import org.vaadin.addons.md_stepper.client.StepLabelBarServerRpc;
+import org.vaadin.addons.md_stepper.client.StepLabelBarState;
+import org.vaadin.addons.md_stepper.util.IconUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Label bar that renders the labels of all steps in the browser.
+ * <p>
+ * Instead of a component tree per label, every step is represented by a compact entry of caption,
+ * description, icon id and state flags. The entries are collected from the steps and the state kept
+ * by the {@link LabelProvider} right before the response, without building any {@link StepLabel}.
+ * Only the entries that differ from the ones the client already knows are sent, so a navigation
+ * only sends the few labels whose state has changed.
+ * <p>
+ * The state icons (nexted, skipped, editable and error) are the default icons of {@link StepLabel}.
+ */
+public class StepLabelBar extends AbstractComponent {
+
+  private static final int[] NO_INDICES = new int[0];
+  private static final String[] NO_STRINGS = new String[0];
+
+  private final StepIterator stepIterator;
+  private final LabelProvider labelProvider;
+  private final Map<String, Integer> iconIds;
+
+  private String[] captions;
+  private String[] descriptions;
+  private int[] labelIconIds;
+  private int[] flags;
+
+  /**
+   * Create a new label bar for the steps of the given iterator.
+   *
+   * @param stepIterator
+   *     The iterator used to iterate over the steps
+   * @param labelProvider
+   *     The provider holding the label state of the steps
+   */
+  StepLabelBar(StepIterator stepIterator, LabelProvider labelProvider) {
+    Objects.requireNonNull(stepIterator, "Step iterator may not be null");
+    Objects.requireNonNull(labelProvider, "Label provider may not be null");
+
+    this.stepIterator = stepIterator;
+    this.labelProvider = labelProvider;
+    this.iconIds = new HashMap<>();
+    this.captions = NO_STRINGS;
+    this.descriptions = NO_STRINGS;
+    this.labelIconIds = NO_INDICES;
+    this.flags = NO_INDICES;
+
+    registerRpc((StepLabelBarServerRpc) this::onLabelClicked);
+    setWidth(100, Unit.PERCENTAGE);
+  }
+
+  /**
+   * Get the expand ratio for the divider between the labels.
+   *
+   * @return The expand ratio
+   */
+  public float getDividerExpandRatio() {
+    return getState(false).dividerExpandRatio;
+  }
+
+  /**
+   * Set the expand ratio of the dividers between the labels (labels have an expand ratio of
+   * <code><b>1</b></code>).
+   *
+   * @param dividerExpandRatio
+   *     The expand ratio for the dividers
+   */
+  public void setDividerExpandRatio(float dividerExpandRatio) {
+    getState().dividerExpandRatio = dividerExpandRatio;
+  }
+
+  /**
+   * Refresh the labels with the current state of the steps on the next response.
+   */
+  public void refresh() {
+    markAsDirty();
+  }
+
+  @Override
+  public void beforeClientResponse(boolean initial) {
+    super.beforeClientResponse(initial);
+    if (initial) {
+      // The client does not know any label or icon yet
+      iconIds.clear();
+      captions = NO_STRINGS;
+      descriptions = NO_STRINGS;
+      labelIconIds = NO_INDICES;
+      flags = NO_INDICES;
+    }
+    updateLabels();
+  }
+
+  private void updateLabels() {
+    List<Step> steps = stepIterator.getSteps();
+    int size = steps.size();
+    int knownSize = captions.length;
+    if (size != knownSize) {
+      captions = Arrays.copyOf(captions, size);
+      descriptions = Arrays.copyOf(descriptions, size);
+      labelIconIds = Arrays.copyOf(labelIconIds, size);
+      flags = Arrays.copyOf(flags, size);
+    }
+
+    int iconCount = iconIds.size();
+    List<Integer> changed = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      Step step = steps.get(i);
+      Throwable error = labelProvider.getError(step);
+      String caption = step.getCaption();
+      String description = error != null ? error.getLocalizedMessage() : step.getDescription();
+      String icon = IconUtils.getHtml(getShownIcon(step, error));
+      int iconId = icon != null ? iconIds.computeIfAbsent(icon, html -> iconIds.size()) : -1;
+      int stepFlags = getFlags(step, error);
+
+      boolean known = i < knownSize && labelIconIds[i] == iconId && flags[i] == stepFlags
+                      && Objects.equals(captions[i], caption)
+                      && Objects.equals(descriptions[i], description);
+      if (!known) {
+        captions[i] = caption;
+        descriptions[i] = description;
+        labelIconIds[i] = iconId;
+        flags[i] = stepFlags;
+        changed.add(i);
+      }
+    }
+
+    if (changed.isEmpty() && size == knownSize) {
+      return;
+    }
+
+    String[] addedIcons = new String[iconIds.size() - iconCount];
+    iconIds.forEach((html, id) -> {
+      if (id >= iconCount) {
+        addedIcons[id - iconCount] = html;
+      }
+    });
+
+    int[] indices = new int[changed.size()];
+    String[] changedCaptions = new String[indices.length];
+    String[] changedDescriptions = new String[indices.length];
+    int[] changedIconIds = new int[indices.length];
+    int[] changedFlags = new int[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      int index = changed.get(i);
+      indices[i] = index;
+      changedCaptions[i] = captions[index];
+      changedDescriptions[i] = descriptions[index];
+      changedIconIds[i] = labelIconIds[index];
+      changedFlags[i] = flags[index];
+    }
+
+    getRpcProxy(StepLabelBarClientRpc.class)
+        .updateLabels(size, indices, changedCaptions, changedDescriptions, changedIconIds,
+                      changedFlags, addedIcons);
+  }
+
+  private FontIcon getShownIcon(Step step, Throwable error) {
+    if (error != null) {
+      return StepLabel.DEFAULT_ICON_ERROR;
+    } else if (labelProvider.isEditable(step)) {
+      return StepLabel.DEFAULT_ICON_EDITABLE;
+    } else if (labelProvider.isSkipped(step)) {
+      return StepLabel.DEFAULT_ICON_SKIPPED;
+    } else if (labelProvider.isNexted(step)) {
+      return StepLabel.DEFAULT_ICON_NEXTED;
+    }
+
+    Resource icon = labelProvider.buildStepLabelIcon(step);
+    return icon instanceof FontIcon ? (FontIcon) icon : null;
+  }
+
+  private int getFlags(Step step, Throwable error) {
+    int stepFlags = 0;
+    stepFlags |= labelProvider.isActive(step) ? StepLabelBarState.FLAG_ACTIVE : 0;
+    stepFlags |= labelProvider.isNexted(step) ? StepLabelBarState.FLAG_NEXTED : 0;
+    stepFlags |= labelProvider.isSkipped(step) ? StepLabelBarState.FLAG_SKIPPED : 0;
+    stepFlags |= labelProvider.isEditable(step) ? StepLabelBarState.FLAG_EDITABLE : 0;
+    stepFlags |= labelProvider.isClickable(step) ? StepLabelBarState.FLAG_CLICKABLE : 0;
+    stepFlags |= error != null ? StepLabelBarState.FLAG_ERROR : 0;
+    return stepFlags;
+  }
+
+  private void onLabelClicked(int index) {
+    List<Step> steps = stepIterator.getSteps();
+    if (index < 0 || index >= steps.size()) {
+      return;
+    }
+
+    Step step = steps.get(index);
+    if (labelProvider.isClickable(step)) {
+      stepIterator.moveTo(step);
+    }
+  }
+
+  @Override
+  protected StepLabelBarState getState() {
+    return (StepLabelBarState) super.getState();
+  }
+
+  @Override
+  protected StepLabelBarState getState(boolean markAsDirty) {
+    return (StepLabelBarState) super.getState(markAsDirty);
+  }
+}
@@ -0,0 +1,25 @@
+package org.vaadin.addons.md_stepper;
+
+import java.io.Serializable;
+
+/**
+ * Validator that checks whether the data of a step is still valid before the stepper completes.
+ * <p>
+ * Validators of all steps are run concurrently using the executor of the stepper and without
+ * holding the lock of the session (see {@link AbstractStepper#validateAll()}), so they should only
+ * access data that is safe to read from a background thread.
+ */
+@FunctionalInterface
+public interface StepValidator extends Serializable {
+
+  /**
+   * Validate the given step.
+   *
+   * @param step
+   *     The step to validate
+   *
+   * @throws Exception
+   *     if the step is not valid, the exception is shown as error of the step
+   */
+  void validate(Step step) throws Exception;
+}
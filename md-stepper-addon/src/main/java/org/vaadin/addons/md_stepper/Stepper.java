@@ -1,6 +1,10 @@
 package org.vaadin.addons.md_stepper;
 
+import org.vaadin.addons.md_stepper.event.StepperErrorListener.StepperErrorsEvent;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Allows to step through items.
@@ -14,6 +18,21 @@ public interface Stepper {
    */
   void refresh();
 
+  /**
+   * Refresh the label of the given step only.
+   * <p>
+   * Use this method if only the caption, description or icon of a step has changed. Changes made
+   * through the setters of the step are picked up automatically.
+   * <p>
+   * Refreshes the whole stepper by default.
+   *
+   * @param step
+   *     The step to refresh
+   */
+  default void refresh(Step step) {
+    refresh();
+  }
+
   /**
    * Get the steps of this stepper.
    *
@@ -21,6 +40,46 @@ public interface Stepper {
    */
   List<Step> getSteps();
 
+  /**
+   * Add the given steps after the currently active step (or at the end if no step is active).
+   * <p>
+   * The stepper is updated once for all steps. This is an optional operation, steppers that do not
+   * support changing their steps throw an {@link UnsupportedOperationException}.
+   *
+   * @param steps
+   *     The steps to add
+   */
+  default void addAll(Collection<Step> steps) {
+    throw new UnsupportedOperationException("Adding steps is not supported");
+  }
+
+  /**
+   * Remove the given steps.
+   * <p>
+   * The stepper is updated once for all steps. This is an optional operation, steppers that do not
+   * support changing their steps throw an {@link UnsupportedOperationException}.
+   *
+   * @param steps
+   *     The steps to remove
+   */
+  default void removeAll(Collection<Step> steps) {
+    throw new UnsupportedOperationException("Removing steps is not supported");
+  }
+
+  /**
+   * Replace all steps of this stepper with the given steps.
+   * <p>
+   * The stepper is updated once for all steps. If the currently active step is not part of the
+   * new steps, the stepper has to be started again. This is an optional operation, steppers that do
+   * not support changing their steps throw an {@link UnsupportedOperationException}.
+   *
+   * @param steps
+   *     The new steps
+   */
+  default void replaceAll(Collection<Step> steps) {
+    throw new UnsupportedOperationException("Replacing steps is not supported");
+  }
+
   /**
    * Get the currently active step of this stepper.
    *
@@ -99,6 +158,31 @@ public interface Stepper {
    */
   void hideError(Step step);
 
+  /**
+   * Show the given errors for the specified steps at once.
+   * <p>
+   * A <code>null</code> error hides the error of the step. All errors are updated before a single
+   * {@link StepperErrorsEvent} is fired.
+   * <p>
+   * Calls {@link #showError(Step, Throwable)} once per step by default, which fires one event per
+   * step instead.
+   *
+   * @param errors
+   *     The errors to show per step
+   */
+  default void showErrors(Map<Step, Throwable> errors) {
+    errors.forEach(this::showError);
+  }
+
+  /**
+   * Hide the errors of all steps at once.
+   * <p>
+   * Calls {@link #hideError(Step)} once per step that shows an error by default.
+   */
+  default void clearErrors() {
+    getSteps().stream().filter(step -> getError(step) != null).forEach(this::hideError);
+  }
+
   /**
    * Get the error for the current step.
    *
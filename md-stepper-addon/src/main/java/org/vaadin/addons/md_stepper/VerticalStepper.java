@@ -3,6 +3,7 @@ package org.vaadin.addons.md_stepper;
 import com.vaadin.shared.ui.MarginInfo;
 import com.vaadin.ui.Alignment;
 import com.vaadin.ui.Button;
+import com.vaadin.ui.Component;
 import com.vaadin.ui.CssLayout;
 import com.vaadin.ui.CustomComponent;
 import com.vaadin.ui.GridLayout;
@@ -14,29 +15,38 @@ import com.vaadin.ui.themes.ValoTheme;
 
 import org.vaadin.addons.md_stepper.collection.ElementAddListener;
 import org.vaadin.addons.md_stepper.collection.ElementRemoveListener;
+import org.vaadin.addons.md_stepper.collection.ElementsChangeListener;
 import org.vaadin.addons.md_stepper.component.CenteredLayout;
 import org.vaadin.addons.md_stepper.component.Spacer;
 import org.vaadin.addons.md_stepper.component.Spinner;
 import org.vaadin.addons.md_stepper.event.StepperCompleteListener;
 import org.vaadin.addons.md_stepper.util.SerializableSupplier;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 
 /**
  * Stepper implementation that shows the steps in a vertical style.
  */
 public class VerticalStepper extends AbstractStepper
-    implements ElementAddListener<Step>, ElementRemoveListener<Step>, StepperCompleteListener {
+    implements ElementAddListener<Step>, ElementRemoveListener<Step>, ElementsChangeListener<Step>,
+               StepperCompleteListener {
 
   private static final String STYLE_ROOT_LAYOUT = "stepper-vertical";
+  private static final String STYLE_COLLAPSED_ROW = "stepper-vertical-row-collapsed";
+  private static final String STYLE_LAST_ROW = "last-step";
 
   private final VerticalLayout rootLayout;
   private final Map<Step, RowLayout> rowMap;
 
   private Spacer spacer;
+  private RowLayout activeRow;
+  private boolean lightweightRows;
 
   /**
    * Create a new linear, vertical stepper for the given steps using a {@link StepIterator}.
@@ -86,6 +96,7 @@ public class VerticalStepper extends AbstractStepper
     addStepperCompleteListener(this);
     getStepIterator().addElementAddListener(this);
     getStepIterator().addElementRemoveListener(this);
+    getStepIterator().addElementsChangeListener(this);
 
     this.rowMap = new HashMap<>();
 
@@ -101,18 +112,167 @@ public class VerticalStepper extends AbstractStepper
     refreshLayout();
   }
 
+  /**
+   * Bring the rows in sync with the current steps.
+   * <p>
+   * Rows are kept per step across refreshes, so only rows for new steps are built and only rows of
+   * removed steps are dropped.
+   */
   private void refreshLayout() {
-    rootLayout.removeAllComponents();
-    rowMap.clear();
-
     List<Step> steps = getSteps();
-    for (Step singleStep : steps) {
-      RowLayout layout = new RowLayout(singleStep);
-      rowMap.put(singleStep, layout);
-      rootLayout.addComponent(layout);
+    Set<Step> stepSet = new HashSet<>(steps);
+
+    Iterator<Map.Entry<Step, RowLayout>> iterator = rowMap.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Step, RowLayout> entry = iterator.next();
+      if (!stepSet.contains(entry.getKey())) {
+        if (entry.getValue() == activeRow) {
+          activeRow = null;
+        }
+        iterator.remove();
+      }
+    }
+
+    List<Component> rows = new ArrayList<>(steps.size());
+    for (int index = 0; index < steps.size(); index++) {
+      rows.add(getRow(steps.get(index), index == steps.size() - 1));
+    }
+
+    // The layout is backed by a linked list, so it is walked once and mirrored by an indexed list
+    Set<Component> expected = new HashSet<>(rows);
+    List<Component> present = new ArrayList<>(rootLayout.getComponentCount());
+    List<Component> stale = new ArrayList<>();
+    rootLayout.forEach(c -> {
+      if (expected.contains(c)) {
+        present.add(c);
+      } else if (c != spacer) {
+        stale.add(c);
+      }
+    });
+    stale.forEach(rootLayout::removeComponent);
+
+    for (int index = 0; index < rows.size(); index++) {
+      Component row = rows.get(index);
+      if (index < present.size() && present.get(index) == row) {
+        continue;
+      }
+
+      if (row.getParent() == rootLayout) {
+        rootLayout.removeComponent(row);
+        present.remove(row);
+      }
+      present.add(index, row);
+      rootLayout.addComponent(row, index);
+      rootLayout.setExpandRatio(row, row == activeRow ? 1 : 0);
+    }
+
+    if (spacer == null) {
+      spacer = Spacer.addToLayout(rootLayout);
+    }
+  }
+
+  /**
+   * Get the row component for the given step.
+   * <p>
+   * With lightweight rows only the active step has a {@link RowLayout}, all other steps are shown
+   * by their label alone.
+   *
+   * @param step
+   *     The step to get the row for
+   * @param lastStep
+   *     <code>true</code> if the step is the last one, <code>false</code> else
+   *
+   * @return The row component
+   */
+  private Component getRow(Step step, boolean lastStep) {
+    RowLayout layout = rowMap.get(step);
+    if (layout == null && !lightweightRows) {
+      layout = new RowLayout(step);
+      rowMap.put(step, layout);
+    }
+
+    if (layout != null) {
+      layout.setLastStep(lastStep);
+      return layout;
+    }
+
+    StepLabel label = getLabelProvider().getStepLabel(step);
+    label.addStyleName(STYLE_COLLAPSED_ROW);
+    toggleStyleName(label, STYLE_LAST_ROW, lastStep);
+    label.setWidth(100, Unit.PERCENTAGE);
+    return label;
+  }
+
+  private void expandRow(Step step) {
+    StepLabel label = getLabelProvider().getStepLabel(step);
+    int index = rootLayout.getComponentIndex(label);
+    label.removeStyleName(STYLE_COLLAPSED_ROW);
+    label.removeStyleName(STYLE_LAST_ROW);
+
+    RowLayout layout = new RowLayout(step);
+    layout.setLastStep(getStepIterator().indexOf(step) == getSteps().size() - 1);
+    rowMap.put(step, layout);
+    rootLayout.addComponent(layout, index >= 0 ? index : getStepIterator().indexOf(step));
+  }
+
+  private void collapseRow(RowLayout layout) {
+    rowMap.remove(layout.step);
+    if (layout.getParent() != rootLayout) {
+      return;
     }
 
-    spacer = Spacer.addToLayout(rootLayout);
+    boolean lastStep = getStepIterator().indexOf(layout.step) == getSteps().size() - 1;
+    rootLayout.replaceComponent(layout, getRow(layout.step, lastStep));
+  }
+
+  private static void toggleStyleName(Component component, String styleName, boolean enable) {
+    if (enable) {
+      component.addStyleName(styleName);
+    } else {
+      component.removeStyleName(styleName);
+    }
+  }
+
+  /**
+   * Check if lightweight rows are used.
+   *
+   * @return <code>true</code> if lightweight rows are used, <code>false</code> else
+   */
+  public boolean isLightweightRows() {
+    return lightweightRows;
+  }
+
+  /**
+   * Set whether lightweight rows should be used.
+   * <p>
+   * By default every step is shown in a row holding its label, content and buttons. With
+   * lightweight rows the inactive steps are only shown by their label, the connecting divider is
+   * drawn by the theme. The complete row is only built for the active step, which reduces the
+   * number of components of large steppers considerably.
+   *
+   * @param lightweightRows
+   *     <code>true</code> to use lightweight rows, <code>false</code> else
+   */
+  public void setLightweightRows(boolean lightweightRows) {
+    if (this.lightweightRows == lightweightRows) {
+      return;
+    }
+
+    this.lightweightRows = lightweightRows;
+    // Only the labels of collapsed rows are children of the root layout and carry the row styles
+    rootLayout.forEach(c -> {
+      if (c instanceof StepLabel) {
+        c.removeStyleName(STYLE_COLLAPSED_ROW);
+        c.removeStyleName(STYLE_LAST_ROW);
+      }
+    });
+    rootLayout.removeAllComponents();
+    rowMap.clear();
+    activeRow = null;
+    spacer = null;
+
+    refreshLayout();
+    setActive(getCurrent(), getCurrent(), false);
   }
 
   /**
@@ -144,7 +304,9 @@ public class VerticalStepper extends AbstractStepper
 
   @Override
   public void onStepperComplete(StepperCompleteEvent event) {
-    rowMap.values().forEach(r -> r.onStepperComplete(event));
+    if (activeRow != null) {
+      activeRow.onStepperComplete(event);
+    }
   }
 
   @Override
@@ -153,8 +315,8 @@ public class VerticalStepper extends AbstractStepper
   }
 
   @Override
-  public void refresh() {
-    super.refresh();
+  protected void doRefresh() {
+    super.doRefresh();
     refreshLayout();
     setActive(getCurrent(), getCurrent(), false);
   }
@@ -167,31 +329,41 @@ public class VerticalStepper extends AbstractStepper
       setActive(getCurrent(), getCurrent(), false);
     }
 
-    rowMap.values()
-          .stream()
-          .filter(RowLayout::isActive)
-          .findFirst()
-          .ifPresent(layout -> layout.showTransitionMessage(message));
+    if (activeRow != null) {
+      activeRow.showTransitionMessage(message);
+    }
   }
 
   @Override
   protected void setActive(Step step, Step previousStep, boolean fireEvent) {
+    flushRefresh();
     if (spacer != null) {
       rootLayout.setExpandRatio(spacer, step != null ? 0 : 1);
     }
 
-    rowMap.entrySet().forEach(entry -> {
-      RowLayout layout = entry.getValue();
-      if (Objects.equals(entry.getKey(), step)) {
-        layout.setActive(true);
-        layout.setHeight(100, Unit.PERCENTAGE);
-        rootLayout.setExpandRatio(layout, 1);
-      } else {
-        layout.setActive(false);
-        layout.setHeightUndefined();
-        rootLayout.setExpandRatio(layout, 0);
+    RowLayout layout = step != null ? rowMap.get(step) : null;
+
+    if (activeRow != null && activeRow != layout) {
+      activeRow.setActive(false);
+      activeRow.setHeightUndefined();
+      rootLayout.setExpandRatio(activeRow, 0);
+      if (lightweightRows) {
+        collapseRow(activeRow);
       }
-    });
+    }
+
+    if (layout == null && step != null && lightweightRows) {
+      expandRow(step);
+      layout = rowMap.get(step);
+    }
+
+    if (layout != null) {
+      layout.setActive(true);
+      layout.setHeight(100, Unit.PERCENTAGE);
+      rootLayout.setExpandRatio(layout, 1);
+    }
+
+    activeRow = layout;
 
     super.setActive(step, previousStep, fireEvent);
   }
@@ -201,6 +373,11 @@ public class VerticalStepper extends AbstractStepper
     refresh();
   }
 
+  @Override
+  public void onElementsChange(ElementsChangeEvent<Step> event) {
+    refresh();
+  }
+
   /**
    * Styles for the vertical stepper.
    */
@@ -233,6 +410,7 @@ public class VerticalStepper extends AbstractStepper
     private final Step step;
 
     private boolean active;
+    private boolean lastStep;
 
     private RowLayout(Step step) {
       this.step = step;
@@ -253,7 +431,7 @@ public class VerticalStepper extends AbstractStepper
       buttonBar.setMargin(false);
       buttonBar.setSpacing(true);
       buttonBar.setWidth(100, Unit.PERCENTAGE);
-      buttonBar.setMargin(new MarginInfo(false, false, !isLastStep(step), false));
+      buttonBar.setMargin(new MarginInfo(false, false, true, false));
 
       rootLayout = new GridLayout(2, 3);
       rootLayout.setSizeFull();
@@ -272,8 +450,20 @@ public class VerticalStepper extends AbstractStepper
       setActive(false);
     }
 
-    private boolean isLastStep(Step step) {
-      return getSteps().indexOf(step) == getSteps().size() - 1;
+    private void setLastStep(boolean lastStep) {
+      if (this.lastStep != lastStep) {
+        this.lastStep = lastStep;
+        buttonBar.setMargin(new MarginInfo(false, false, !lastStep, false));
+        updateDividerHeight();
+      }
+    }
+
+    private void updateDividerHeight() {
+      if (active && !lastStep) {
+        divider.setHeight(100, Unit.PERCENTAGE);
+      } else {
+        divider.setHeight(lastStep ? 0 : -1, Unit.PIXELS);
+      }
     }
 
     public boolean isActive() {
@@ -289,21 +479,18 @@ public class VerticalStepper extends AbstractStepper
       buttonBar.removeAllComponents();
       contentContainer.setContent(null);
 
-      divider.setHeight(isLastStep(step) ? 0 : -1, Unit.PIXELS);
+      updateDividerHeight();
 
       if (!active) {
         return;
       }
 
-      if (!isLastStep(step)) {
-        divider.setHeight(100, Unit.PERCENTAGE);
-      }
       contentContainer.setContent(step.getContent());
 
-      Button nextButton = step.getNextButton();
-      Button skipButton = step.getSkipButton();
-      Button cancelButton = step.getCancelButton();
-      Button backButton = step.getBackButton();
+      Button nextButton = getNextButton(step);
+      Button skipButton = getSkipButton(step);
+      Button cancelButton = getCancelButton(step);
+      Button backButton = getBackButton(step);
 
       buttonBar.addComponent(nextButton);
       buttonBar.addComponent(skipButton);
@@ -311,9 +498,9 @@ public class VerticalStepper extends AbstractStepper
       Spacer.addToLayout(buttonBar);
       buttonBar.addComponent(backButton);
 
-      nextButton.setVisible(!isComplete());
+      nextButton.setVisible(!isComplete() && !step.isContentLoadPending());
       cancelButton.setVisible(step.isCancellable());
-      skipButton.setVisible(step.isOptional());
+      skipButton.setVisible(step.isOptional() && !step.isContentLoadPending());
       backButton.setVisible(getStepIterator().hasPrevious());
     }
 
@@ -341,7 +528,7 @@ public class VerticalStepper extends AbstractStepper
         buttonBar.forEach(c -> c.setVisible(false));
       } else {
         rootLayout.addComponent(label, 0, 0, 1, 0);
-        contentContainer.setContent(step);
+        contentContainer.setContent(step.getContent());
       }
     }
 
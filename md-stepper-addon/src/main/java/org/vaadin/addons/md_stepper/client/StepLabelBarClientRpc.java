@@ -0,0 +1,34 @@
+package org.vaadin.addons.md_stepper.client;
+
+import com.vaadin.shared.communication.ClientRpc;
+
+/**
+ * Calls from the server to the client side label bar.
+ */
+public interface StepLabelBarClientRpc extends ClientRpc {
+
+  /**
+   * Update the labels that have changed since the last update.
+   * <p>
+   * The given arrays hold one entry per changed label, icons are referenced by their position in
+   * the icon table that is built up by the added icons of all updates.
+   *
+   * @param count
+   *     The number of labels to show
+   * @param indices
+   *     The positions of the changed labels
+   * @param captions
+   *     The captions of the changed labels
+   * @param descriptions
+   *     The descriptions of the changed labels (or the error message if the step is erroneous)
+   * @param iconIds
+   *     The position of the icon html of the changed labels in the icon table or <code>-1</code>
+   *     for no icon
+   * @param flags
+   *     The state flags of the changed labels
+   * @param addedIcons
+   *     The icon html to append to the icon table
+   */
+  void updateLabels(int count, int[] indices, String[] captions, String[] descriptions,
+                    int[] iconIds, int[] flags, String[] addedIcons);
+}
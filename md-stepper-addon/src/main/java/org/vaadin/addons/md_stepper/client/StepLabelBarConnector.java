@@ -0,0 +1,42 @@
+package org.vaadin.addons.md_stepper.client;
+
+import com.vaadin.client.communication.RpcProxy;
+import com.vaadin.client.communication.StateChangeEvent;
+import com.vaadin.client.ui.AbstractComponentConnector;
+import com.vaadin.shared.ui.Connect;
+
+import org.vaadin.addons.md_stepper.StepLabelBar;
+
+/**
+ * Connector that binds the {@link StepLabelBar} to the {@link StepLabelBarWidget}.
+ */
+@Connect(StepLabelBar.class)
+public class StepLabelBarConnector extends AbstractComponentConnector {
+
+  private final StepLabelBarServerRpc rpc = RpcProxy.create(StepLabelBarServerRpc.class, this);
+
+  /**
+   * Create a new connector.
+   */
+  public StepLabelBarConnector() {
+    getWidget().setLabelClickHandler(rpc::labelClicked);
+    registerRpc(StepLabelBarClientRpc.class, getWidget()::updateLabels);
+  }
+
+  @Override
+  public StepLabelBarWidget getWidget() {
+    return (StepLabelBarWidget) super.getWidget();
+  }
+
+  @Override
+  public StepLabelBarState getState() {
+    return (StepLabelBarState) super.getState();
+  }
+
+  @Override
+  public void onStateChanged(StateChangeEvent stateChangeEvent) {
+    super.onStateChanged(stateChangeEvent);
+
+    getWidget().setDividerExpandRatio(getState().dividerExpandRatio);
+  }
+}
@@ -0,0 +1,17 @@
+package org.vaadin.addons.md_stepper.client;
+
+import com.vaadin.shared.communication.ServerRpc;
+
+/**
+ * Calls from the client side label bar to the server.
+ */
+public interface StepLabelBarServerRpc extends ServerRpc {
+
+  /**
+   * Called when a clickable label has been clicked.
+   *
+   * @param index
+   *     The position of the step whose label has been clicked
+   */
+  void labelClicked(int index);
+}
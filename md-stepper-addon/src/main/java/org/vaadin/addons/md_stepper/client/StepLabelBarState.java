@@ -0,0 +1,25 @@
+package org.vaadin.addons.md_stepper.client;
+
+import com.vaadin.shared.AbstractComponentState;
+
+/**
+ * Shared state of the client side label bar.
+ * <p>
+ * The labels themselves are not part of the state, they are sent by the
+ * {@link StepLabelBarClientRpc}, so a navigation only sends the entries of the labels that have
+ * changed.
+ */
+public class StepLabelBarState extends AbstractComponentState {
+
+  public static final int FLAG_ACTIVE = 1;
+  public static final int FLAG_NEXTED = 1 << 1;
+  public static final int FLAG_SKIPPED = 1 << 2;
+  public static final int FLAG_EDITABLE = 1 << 3;
+  public static final int FLAG_CLICKABLE = 1 << 4;
+  public static final int FLAG_ERROR = 1 << 5;
+
+  /**
+   * The expand ratio of the dividers between the labels (labels have an expand ratio of 1).
+   */
+  public float dividerExpandRatio = 0.75F;
+}
@@ -0,0 +1,285 @@
+package org.vaadin.addons.md_stepper.client;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.EventTarget;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.event.dom.client.ClickEvent;
+import com.google.gwt.user.client.ui.Widget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Widget that renders the labels of all steps as plain elements.
+ * <p>
+ * Only the parts of a label that differ from the previous rendering are touched, hover effects are
+ * left to the theme.
+ */
+public class StepLabelBarWidget extends Widget {
+
+  public static final String CLASSNAME = "step-label-bar";
+
+  private static final String STYLE_STEP_LABEL = "step-label";
+  private static final String STYLE_STEP_ICON = "step-icon";
+  private static final String STYLE_STEP_CAPTION_WRAPPER = "step-caption-wrapper";
+  private static final String STYLE_STEP_CAPTION = "step-caption";
+  private static final String STYLE_STEP_DESCRIPTION = "step-description";
+  private static final String STYLE_SINGLE_LABEL = "single-label";
+  private static final String STYLE_DIVIDER = "label-divider";
+  private static final String STYLE_ACTIVE = "active";
+  private static final String STYLE_NEXTED = "nexted";
+  private static final String STYLE_SKIPPED = "skipped";
+  private static final String STYLE_EDITABLE = "editable";
+  private static final String STYLE_CLICKABLE = "clickable";
+  private static final String STYLE_ERROR = "error";
+  private static final String ATTRIBUTE_INDEX = "data-index";
+
+  private final List<LabelElement> labels;
+  private final List<Element> dividers;
+  private final List<String> icons;
+
+  private LabelClickHandler labelClickHandler;
+  private double dividerExpandRatio;
+
+  /**
+   * Create a new, empty label bar.
+   */
+  public StepLabelBarWidget() {
+    this.labels = new ArrayList<>();
+    this.dividers = new ArrayList<>();
+    this.icons = new ArrayList<>();
+    this.dividerExpandRatio = -1;
+
+    setElement(Document.get().createDivElement());
+    setStyleName(CLASSNAME);
+    addDomHandler(this::onClick, ClickEvent.getType());
+  }
+
+  /**
+   * Set the handler that is notified when a clickable label is clicked.
+   *
+   * @param labelClickHandler
+   *     The handler to notify
+   */
+  public void setLabelClickHandler(LabelClickHandler labelClickHandler) {
+    this.labelClickHandler = labelClickHandler;
+  }
+
+  /**
+   * Set the expand ratio of the dividers between the labels.
+   *
+   * @param dividerExpandRatio
+   *     The expand ratio of the dividers
+   */
+  public void setDividerExpandRatio(double dividerExpandRatio) {
+    if (this.dividerExpandRatio != dividerExpandRatio) {
+      this.dividerExpandRatio = dividerExpandRatio;
+      dividers.forEach(divider -> setFlexGrow(divider, dividerExpandRatio));
+    }
+  }
+
+  /**
+   * Render the given label changes.
+   *
+   * @param count
+   *     The number of labels to show
+   * @param indices
+   *     The positions of the changed labels
+   * @param captions
+   *     The captions of the changed labels
+   * @param descriptions
+   *     The descriptions of the changed labels
+   * @param iconIds
+   *     The position of the icon html of the changed labels in the icon table
+   * @param flags
+   *     The state flags of the changed labels
+   * @param addedIcons
+   *     The icon html to append to the icon table
+   */
+  public void updateLabels(int count, int[] indices, String[] captions, String[] descriptions,
+                           int[] iconIds, int[] flags, String[] addedIcons) {
+    for (String icon : addedIcons) {
+      icons.add(icon);
+    }
+
+    while (labels.size() > count) {
+      labels.remove(labels.size() - 1).element.removeFromParent();
+      if (!dividers.isEmpty()) {
+        dividers.remove(dividers.size() - 1).removeFromParent();
+      }
+    }
+
+    while (labels.size() < count) {
+      if (!labels.isEmpty()) {
+        Element divider = Document.get().createDivElement();
+        divider.setClassName(STYLE_DIVIDER);
+        setFlexGrow(divider, dividerExpandRatio);
+        getElement().appendChild(divider);
+        dividers.add(divider);
+      }
+
+      LabelElement label = new LabelElement(labels.size());
+      getElement().appendChild(label.element);
+      labels.add(label);
+    }
+
+    for (int i = 0; i < indices.length; i++) {
+      String icon = iconIds[i] >= 0 ? icons.get(iconIds[i]) : null;
+      labels.get(indices[i]).update(captions[i], descriptions[i], icon, flags[i]);
+    }
+  }
+
+  private void onClick(ClickEvent event) {
+    EventTarget target = event.getNativeEvent().getEventTarget();
+    if (labelClickHandler == null || !Element.is(target)) {
+      return;
+    }
+
+    Element element = Element.as(target);
+    while (element != null && element != getElement()) {
+      if (element.hasAttribute(ATTRIBUTE_INDEX)) {
+        if (element.hasClassName(STYLE_CLICKABLE)) {
+          labelClickHandler.onLabelClick(Integer.parseInt(element.getAttribute(ATTRIBUTE_INDEX)));
+        }
+        return;
+      }
+      element = element.getParentElement();
+    }
+  }
+
+  private static void setFlexGrow(Element element, double flexGrow) {
+    element.getStyle().setProperty("flexGrow", String.valueOf(flexGrow));
+  }
+
+  private static void setShown(Element element, boolean shown) {
+    if (shown) {
+      element.getStyle().clearDisplay();
+    } else {
+      element.getStyle().setDisplay(Style.Display.NONE);
+    }
+  }
+
+  private static boolean isBlank(String text) {
+    return text == null || text.trim().isEmpty();
+  }
+
+  /**
+   * Handler that is notified when a clickable label is clicked.
+   */
+  @FunctionalInterface
+  public interface LabelClickHandler {
+
+    /**
+     * Called when a clickable label is clicked.
+     *
+     * @param index
+     *     The position of the step whose label has been clicked
+     */
+    void onLabelClick(int index);
+  }
+
+  /**
+   * The elements of a single label together with the values they currently show.
+   */
+  private static final class LabelElement {
+
+    private final Element element;
+    private final Element iconElement;
+    private final Element captionElement;
+    private final Element descriptionElement;
+
+    private String caption;
+    private String description;
+    private String icon;
+    private int flags;
+
+    private LabelElement(int index) {
+      Document document = Document.get();
+
+      element = document.createDivElement();
+      element.setClassName(STYLE_STEP_LABEL);
+      element.setAttribute(ATTRIBUTE_INDEX, String.valueOf(index));
+
+      iconElement = document.createDivElement();
+      iconElement.setClassName(STYLE_STEP_ICON);
+
+      captionElement = document.createDivElement();
+      captionElement.setClassName(STYLE_STEP_CAPTION);
+
+      descriptionElement = document.createDivElement();
+      descriptionElement.setClassName(STYLE_STEP_DESCRIPTION);
+
+      Element captionWrapper = document.createDivElement();
+      captionWrapper.setClassName(STYLE_STEP_CAPTION_WRAPPER);
+      captionWrapper.appendChild(captionElement);
+      captionWrapper.appendChild(descriptionElement);
+
+      element.appendChild(iconElement);
+      element.appendChild(captionWrapper);
+
+      // Force the first update to render every part
+      flags = -1;
+      setShown(iconElement, false);
+      setShown(captionElement, false);
+      setShown(descriptionElement, false);
+    }
+
+    private void update(String caption, String description, String icon, int flags) {
+      boolean textChanged = false;
+
+      if (!equal(this.icon, icon)) {
+        this.icon = icon;
+        iconElement.setInnerHTML(icon != null ? icon : "");
+        setShown(iconElement, !isBlank(icon));
+      }
+
+      if (!equal(this.caption, caption)) {
+        this.caption = caption;
+        captionElement.setInnerText(caption != null ? caption : "");
+        setShown(captionElement, !isBlank(caption));
+        textChanged = true;
+      }
+
+      if (!equal(this.description, description)) {
+        this.description = description;
+        descriptionElement.setInnerText(description != null ? description : "");
+        setShown(descriptionElement, !isBlank(description));
+        textChanged = true;
+      }
+
+      if (textChanged) {
+        boolean hasCaption = !isBlank(caption);
+        boolean hasDescription = !isBlank(description);
+        toggleClassName(captionElement, STYLE_SINGLE_LABEL, hasCaption && !hasDescription);
+        toggleClassName(descriptionElement, STYLE_SINGLE_LABEL, hasDescription && !hasCaption);
+      }
+
+      if (this.flags != flags) {
+        this.flags = flags;
+        toggleClassName(element, STYLE_ACTIVE, flags, StepLabelBarState.FLAG_ACTIVE);
+        toggleClassName(element, STYLE_NEXTED, flags, StepLabelBarState.FLAG_NEXTED);
+        toggleClassName(element, STYLE_SKIPPED, flags, StepLabelBarState.FLAG_SKIPPED);
+        toggleClassName(element, STYLE_EDITABLE, flags, StepLabelBarState.FLAG_EDITABLE);
+        toggleClassName(element, STYLE_CLICKABLE, flags, StepLabelBarState.FLAG_CLICKABLE);
+        toggleClassName(element, STYLE_ERROR, flags, StepLabelBarState.FLAG_ERROR);
+      }
+    }
+
+    private static boolean equal(String a, String b) {
+      return a == null ? b == null : a.equals(b);
+    }
+
+    private static void toggleClassName(Element element, String className, int flags, int flag) {
+      toggleClassName(element, className, (flags & flag) != 0);
+    }
+
+    private static void toggleClassName(Element element, String className, boolean enable) {
+      if (enable) {
+        element.addClassName(className);
+      } else {
+        element.removeClassName(className);
+      }
+    }
+  }
+}
@@ -9,4 +9,8 @@ public interface CollectionChangeNotifier<E> {
   boolean addElementRemoveListener(ElementRemoveListener<E> listener);
 
   boolean removeElementRemoveListener(ElementRemoveListener<E> listener);
+
+  boolean addElementsChangeListener(ElementsChangeListener<E> listener);
+
+  boolean removeElementsChangeListener(ElementsChangeListener<E> listener);
 }
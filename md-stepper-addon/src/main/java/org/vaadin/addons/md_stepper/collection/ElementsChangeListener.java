@@ -0,0 +1,144 @@
+package org.vaadin.addons.md_stepper.collection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EventListener;
+import java.util.EventObject;
+import java.util.List;
+
+/**
+ * Listener that is triggered once for a bulk change of a collection.
+ *
+ * @param <E>
+ *     The type of the elements of the collection
+ */
+@FunctionalInterface
+public interface ElementsChangeListener<E> extends EventListener, Serializable {
+
+  /**
+   * Triggered after several elements have been added to or removed from a collection at once.
+   *
+   * @param event
+   *     Event that contains information about the added and removed elements
+   */
+  void onElementsChange(ElementsChangeEvent<E> event);
+
+  /**
+   * An event fired after a bulk change of a collection.
+   *
+   * @param <E>
+   *     The type of the elements of the collection
+   */
+  class ElementsChangeEvent<E> extends EventObject {
+
+    private final transient List<E> addedElements;
+    private final transient List<E> removedElements;
+    private final int addedFromIndex;
+    private final int[] removedIndices;
+
+    /**
+     * Construct a new bulk change event.
+     *
+     * @param source
+     *     The collection that has been changed
+     * @param addedElements
+     *     The elements that have been added, in the order they appear in the collection
+     * @param addedFromIndex
+     *     The position of the first added element in the collection
+     * @param removedElements
+     *     The elements that have been removed, in the order they appeared in the collection
+     * @param removedIndices
+     *     The positions the removed elements had in the collection before the change, in ascending
+     *     order
+     */
+    public ElementsChangeEvent(Collection<E> source, List<E> addedElements, int addedFromIndex,
+                               List<E> removedElements, int[] removedIndices) {
+      super(source);
+      if (removedIndices.length != removedElements.size()) {
+        throw new IllegalArgumentException("An index is required for every removed element");
+      }
+      this.addedElements = Collections.unmodifiableList(addedElements);
+      this.addedFromIndex = addedFromIndex;
+      this.removedElements = Collections.unmodifiableList(removedElements);
+      this.removedIndices = removedIndices.clone();
+    }
+
+    /**
+     * Get the collection that has been changed.
+     *
+     * @return The collection
+     */
+    public Collection<E> getCollection() {
+      return (Collection<E>) getSource();
+    }
+
+    /**
+     * Get the elements that have been added.
+     *
+     * @return The added elements
+     */
+    public List<E> getAddedElements() {
+      return addedElements;
+    }
+
+    /**
+     * Get the position of the first added element. The added elements occupy the range from this
+     * position (inclusive) to {@link #getAddedToIndex()} (exclusive).
+     *
+     * @return The position of the first added element
+     */
+    public int getAddedFromIndex() {
+      return addedFromIndex;
+    }
+
+    /**
+     * Get the position after the last added element.
+     *
+     * @return The position after the last added element
+     */
+    public int getAddedToIndex() {
+      return addedFromIndex + addedElements.size();
+    }
+
+    /**
+     * Get the elements that have been removed.
+     *
+     * @return The removed elements
+     */
+    public List<E> getRemovedElements() {
+      return removedElements;
+    }
+
+    /**
+     * Get the positions the removed elements had in the collection before the change.
+     *
+     * @return The positions of the removed elements in ascending order
+     */
+    public int[] getRemovedIndices() {
+      return removedIndices.clone();
+    }
+
+    /**
+     * Get the ranges of positions the removed elements occupied in the collection before the
+     * change. Every range is an array of the first position (inclusive) and the last position
+     * (exclusive).
+     *
+     * @return The ranges of the removed elements in ascending order
+     */
+    public List<int[]> getRemovedRanges() {
+      List<int[]> ranges = new ArrayList<>();
+      int index = 0;
+      while (index < removedIndices.length) {
+        int from = removedIndices[index];
+        int to = from + 1;
+        while (++index < removedIndices.length && removedIndices[index] == to) {
+          to++;
+        }
+        ranges.add(new int[]{from, to});
+      }
+      return ranges;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package org.vaadin.addons.md_stepper.component;
 import com.vaadin.server.FontIcon;
 import com.vaadin.server.Resource;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -10,7 +11,14 @@ import java.util.Objects;
  */
 public final class TextIcon implements FontIcon {
 
+  private static final int INITIAL_NUMBER_CACHE_SIZE = 64;
+  private static final int MAX_NUMBER_CACHE_SIZE = 1024;
+
+  private static volatile TextIcon[] numbers = createNumbers(new TextIcon[0],
+                                                             INITIAL_NUMBER_CACHE_SIZE);
+
   private final String text;
+  private final String html;
 
   /**
    * Create a new icon showing the given text.
@@ -26,6 +34,58 @@ public final class TextIcon implements FontIcon {
   public TextIcon(String text) {
     Objects.requireNonNull(text, "Text may not be null");
     this.text = text;
+    this.html = "<span class=\"v-icon v-label-bold\">" + text + "</span>";
+  }
+
+  /**
+   * Get the icon showing the given number.
+   * <p>
+   * Icons for positive numbers up to 1024 are shared for the whole application, so asking for the
+   * same number again does not create a new icon. Icons for larger numbers are created on every
+   * call, so the shared cache stays bounded.
+   *
+   * @param number
+   *     The number to show
+   *
+   * @return The icon showing the number
+   */
+  public static TextIcon ofNumber(int number) {
+    if (number < 1 || number > MAX_NUMBER_CACHE_SIZE) {
+      return new TextIcon(String.valueOf(number));
+    }
+
+    TextIcon[] cached = numbers;
+    if (number > cached.length) {
+      cached = growNumbers(number);
+    }
+    return cached[number - 1];
+  }
+
+  private static synchronized TextIcon[] growNumbers(int number) {
+    TextIcon[] cached = numbers;
+    if (number > cached.length) {
+      int size = Math.min(Math.max(number, cached.length * 2), MAX_NUMBER_CACHE_SIZE);
+      cached = createNumbers(cached, size);
+      numbers = cached;
+    }
+    return cached;
+  }
+
+  private static TextIcon[] createNumbers(TextIcon[] existing, int size) {
+    TextIcon[] created = Arrays.copyOf(existing, size);
+    for (int i = existing.length; i < size; i++) {
+      created[i] = new TextIcon(String.valueOf(i + 1));
+    }
+    return created;
+  }
+
+  /**
+   * Get the text of the icon.
+   *
+   * @return The text
+   */
+  public String getText() {
+    return text;
   }
 
   @Override
@@ -40,7 +100,7 @@ public final class TextIcon implements FontIcon {
 
   @Override
   public String getHtml() {
-    return "<span class=\"v-icon v-label-bold\">" + text + "</span>";
+    return html;
   }
 
   @Override
@@ -48,4 +108,20 @@ public final class TextIcon implements FontIcon {
     throw new UnsupportedOperationException(FontIcon.class.getSimpleName()
                                             + " should not be used where a MIME type is needed.");
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return text.equals(((TextIcon) o).text);
+  }
+
+  @Override
+  public int hashCode() {
+    return text.hashCode();
+  }
 }
@@ -144,4 +144,24 @@ public interface StepNotifier {
    * @return <code>true</code> if the listener was successfully removed, <code>false</code> else
    */
   boolean removeStepActiveListener(StepActiveListener listener);
+
+  /**
+   * Add the given listener that is triggered if the caption, description or icon of a step changes.
+   *
+   * @param listener
+   *     The listener to add
+   *
+   * @return <code>true</code> if the listener was successfully added, <code>false</code> else
+   */
+  boolean addStepPropertyChangeListener(StepPropertyChangeListener listener);
+
+  /**
+   * Remove the given listener.
+   *
+   * @param listener
+   *     The listener to remove
+   *
+   * @return <code>true</code> if the listener was successfully removed, <code>false</code> else
+   */
+  boolean removeStepPropertyChangeListener(StepPropertyChangeListener listener);
 }
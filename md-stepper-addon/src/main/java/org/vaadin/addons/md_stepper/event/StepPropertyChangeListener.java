@@ -0,0 +1,103 @@
+package org.vaadin.addons.md_stepper.event;
+
+import org.vaadin.addons.md_stepper.Step;
+
+import java.io.Serializable;
+import java.util.EventListener;
+import java.util.EventObject;
+
+/**
+ * Listener for events triggered if a property of a step that is shown by its label or that affects
+ * the navigation changes.
+ */
+public interface StepPropertyChangeListener extends EventListener, Serializable {
+
+  /**
+   * Triggered if a property of a step has changed.
+   *
+   * @param event
+   *     The event containing additional information
+   */
+  void onStepPropertyChange(StepPropertyChangeEvent event);
+
+  /**
+   * The properties of a step that trigger a change event.
+   */
+  enum Property {
+    CAPTION,
+    DESCRIPTION,
+    ICON,
+    EDITABLE,
+    OPTIONAL
+  }
+
+  /**
+   * Event that contains information about the change of a step property.
+   */
+  class StepPropertyChangeEvent extends EventObject {
+
+    private final Property property;
+    private final transient Object oldValue;
+    private final transient Object newValue;
+
+    /**
+     * Constructs a prototypical Event.
+     *
+     * @param source
+     *     The step on which the Event initially occurred.
+     * @param property
+     *     The property that has changed
+     * @param oldValue
+     *     The value of the property before the change
+     * @param newValue
+     *     The value of the property after the change
+     *
+     * @throws IllegalArgumentException
+     *     if source is null.
+     */
+    public StepPropertyChangeEvent(Step source, Property property, Object oldValue,
+                                   Object newValue) {
+      super(source);
+      this.property = property;
+      this.oldValue = oldValue;
+      this.newValue = newValue;
+    }
+
+    /**
+     * Get the step whose property has changed.
+     *
+     * @return The step
+     */
+    @Override
+    public Step getSource() {
+      return (Step) super.getSource();
+    }
+
+    /**
+     * Get the property that has changed.
+     *
+     * @return The property
+     */
+    public Property getProperty() {
+      return property;
+    }
+
+    /**
+     * Get the value of the property before the change.
+     *
+     * @return The old value
+     */
+    public Object getOldValue() {
+      return oldValue;
+    }
+
+    /**
+     * Get the value of the property after the change.
+     *
+     * @return The new value
+     */
+    public Object getNewValue() {
+      return newValue;
+    }
+  }
+}
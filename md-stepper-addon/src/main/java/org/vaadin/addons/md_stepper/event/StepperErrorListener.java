@@ -3,6 +3,10 @@ package org.vaadin.addons.md_stepper.event;
 import org.vaadin.addons.md_stepper.Step;
 import org.vaadin.addons.md_stepper.Stepper;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Listener for events triggered by the <b>error</b> action of a stepper.
  */
@@ -16,6 +20,20 @@ public interface StepperErrorListener extends StepperListener {
    */
   void onStepperError(StepperErrorEvent event);
 
+  /**
+   * Triggered if the errors of several steps have been changed at once.
+   * <p>
+   * Calls {@link #onStepperError(StepperErrorEvent)} once per concerned step by default, listeners
+   * can override this method to handle all errors at once.
+   *
+   * @param event
+   *     The event containing additional information
+   */
+  default void onStepperErrors(StepperErrorsEvent event) {
+    event.getErrors().forEach(
+        (step, error) -> onStepperError(new StepperErrorEvent(event.getSource(), step, error)));
+  }
+
   /**
    * Event that contains information about the <b>error</b> action of a stepper.
    */
@@ -61,4 +79,39 @@ public interface StepperErrorListener extends StepperListener {
       return step;
     }
   }
+
+  /**
+   * Event that contains information about the errors of several steps that have been changed at
+   * once.
+   */
+  class StepperErrorsEvent extends StepperEvent {
+
+    private final Map<Step, Throwable> errors;
+
+    /**
+     * Constructs a prototypical Event.
+     *
+     * @param source
+     *     The object on which the Event initially occurred.
+     * @param errors
+     *     The errors that are shown per step, <code>null</code> if the error of a step is hidden
+     *
+     * @throws IllegalArgumentException
+     *     if source is null.
+     */
+    public StepperErrorsEvent(Stepper source, Map<Step, Throwable> errors) {
+      super(source);
+      this.errors = Collections.unmodifiableMap(new LinkedHashMap<>(errors));
+    }
+
+    /**
+     * Get the errors of all steps concerned by the event.
+     *
+     * @return The errors per step in the order of the steps, <code>null</code> if the error of a
+     * step is hidden
+     */
+    public Map<Step, Throwable> getErrors() {
+      return errors;
+    }
+  }
 }
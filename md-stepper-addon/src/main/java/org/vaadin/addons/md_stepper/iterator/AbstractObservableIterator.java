@@ -1,12 +1,21 @@
 package org.vaadin.addons.md_stepper.iterator;
 
+import org.vaadin.addons.md_stepper.util.ListenerRegistry;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 /**
  * Abstract observable iterator that provides default implementations for adding and removing
  * iteration listeners.
+ * <p>
+ * The listeners are kept in registries that are only allocated once the first listener of their
+ * type is added.
  *
  * @param <E>
  *     The type of the element to be iterated
@@ -14,111 +23,139 @@ import java.util.Objects;
 public abstract class AbstractObservableIterator<E>
     implements ObservableIterator<E> {
 
+  private static final int START = 0;
+  private static final int END = 1;
+  private static final int ELEMENT_CHANGE = 2;
+  private static final int PREVIOUS = 3;
+  private static final int NEXT = 4;
+  private static final int MOVE_TO = 5;
+  private static final int SKIP = 6;
+  private static final int LISTENER_TYPES = 7;
+
+  /**
+   * @deprecated Use {@link #addStartListener(StartListener)} and
+   * {@link #removeStartListener(StartListener)} instead
+   */
+  @Deprecated
   protected final Collection<StartListener<E>> startListeners;
+  /**
+   * @deprecated Use {@link #addEndListener(EndListener)} and
+   * {@link #removeEndListener(EndListener)} instead
+   */
+  @Deprecated
   protected final Collection<EndListener<E>> endListeners;
+  /**
+   * @deprecated Use {@link #addElementChangeListener(ElementChangeListener)} and
+   * {@link #removeElementChangeListener(ElementChangeListener)} instead
+   */
+  @Deprecated
   protected final Collection<ElementChangeListener<E>> elementChangeListeners;
+  /**
+   * @deprecated Use {@link #addPreviousListener(PreviousListener)} and
+   * {@link #removePreviousListener(PreviousListener)} instead
+   */
+  @Deprecated
   protected final Collection<PreviousListener<E>> previousListeners;
+  /**
+   * @deprecated Use {@link #addNextListener(NextListener)} and
+   * {@link #removeNextListener(NextListener)} instead
+   */
+  @Deprecated
   protected final Collection<NextListener<E>> nextListeners;
+  /**
+   * @deprecated Use {@link #addMoveToListener(MoveToListener)} and
+   * {@link #removeMoveToListener(MoveToListener)} instead
+   */
+  @Deprecated
   protected final Collection<MoveToListener<E>> moveToListeners;
+  /**
+   * @deprecated Use {@link #addSkipListener(SkipListener)} and
+   * {@link #removeSkipListener(SkipListener)} instead
+   */
+  @Deprecated
   protected final Collection<SkipListener<E>> skipListeners;
 
-  protected AbstractObservableIterator() {
-    this.startListeners = new HashSet<>();
-    this.endListeners = new HashSet<>();
-    this.elementChangeListeners = new HashSet<>();
-    this.previousListeners = new HashSet<>();
-    this.nextListeners = new HashSet<>();
-    this.moveToListeners = new HashSet<>();
-    this.skipListeners = new HashSet<>();
+  private ListenerRegistry<?>[] registries;
 
-    addNextListener(this::notifyElementChange);
-    addPreviousListener(this::notifyElementChange);
-    addMoveToListener(this::notifyElementChange);
-    addSkipListener(this::notifyElementChange);
+  protected AbstractObservableIterator() {
+    // Stateless views, the registries behind them are allocated on demand
+    this.startListeners = new ListenerView<>(START);
+    this.endListeners = new ListenerView<>(END);
+    this.elementChangeListeners = new ListenerView<>(ELEMENT_CHANGE);
+    this.previousListeners = new ListenerView<>(PREVIOUS);
+    this.nextListeners = new ListenerView<>(NEXT);
+    this.moveToListeners = new ListenerView<>(MOVE_TO);
+    this.skipListeners = new ListenerView<>(SKIP);
   }
 
   @Override
   public boolean addNextListener(NextListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return nextListeners.add(listener);
+    return addListener(NEXT, listener);
   }
 
   @Override
   public boolean addPreviousListener(PreviousListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return previousListeners.add(listener);
+    return addListener(PREVIOUS, listener);
   }
 
   @Override
   public boolean removePreviousListener(PreviousListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return previousListeners.remove(listener);
+    return removeListener(PREVIOUS, listener);
   }
 
   @Override
   public boolean addMoveToListener(MoveToListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return moveToListeners.add(listener);
+    return addListener(MOVE_TO, listener);
   }
 
   @Override
   public boolean removeMoveToListener(MoveToListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return moveToListeners.remove(listener);
+    return removeListener(MOVE_TO, listener);
   }
 
   @Override
   public boolean addSkipListener(SkipListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return skipListeners.add(listener);
+    return addListener(SKIP, listener);
   }
 
   @Override
   public boolean removeSkipListener(SkipListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return skipListeners.remove(listener);
+    return removeListener(SKIP, listener);
   }
 
   @Override
   public boolean removeNextListener(NextListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return nextListeners.remove(listener);
+    return removeListener(NEXT, listener);
   }
 
   @Override
   public boolean addStartListener(StartListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return startListeners.add(listener);
+    return addListener(START, listener);
   }
 
   @Override
   public boolean removeStartListener(StartListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return startListeners.remove(listener);
+    return removeListener(START, listener);
   }
 
   @Override
   public boolean addEndListener(EndListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return endListeners.add(listener);
+    return addListener(END, listener);
   }
 
   @Override
   public boolean removeEndListener(EndListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return endListeners.remove(listener);
+    return removeListener(END, listener);
   }
 
   @Override
   public boolean addElementChangeListener(ElementChangeListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return elementChangeListeners.add(listener);
+    return addListener(ELEMENT_CHANGE, listener);
   }
 
   @Override
   public boolean removeElementChangeListener(ElementChangeListener<E> listener) {
-    Objects.requireNonNull(listener, "Listener may not be null");
-    return elementChangeListeners.remove(listener);
+    return removeListener(ELEMENT_CHANGE, listener);
   }
 
   /**
@@ -128,7 +165,7 @@ public abstract class AbstractObservableIterator<E>
    *     The event that will be triggered after the start
    */
   protected void notifyStart(IteratorListener.IteratorEvent<E> event) {
-    startListeners.forEach(l -> l.onStart(event));
+    fire(START, event, StartListener<E>::onStart);
   }
 
   /**
@@ -138,7 +175,7 @@ public abstract class AbstractObservableIterator<E>
    *     The event that would be triggered if the iterator would not end
    */
   protected void notifyEnd(IteratorListener.IteratorEvent<E> event) {
-    endListeners.forEach(l -> l.onEnd(event));
+    fire(END, event, EndListener<E>::onEnd);
   }
 
   /**
@@ -150,9 +187,12 @@ public abstract class AbstractObservableIterator<E>
    *     The current element after the iteration
    */
   protected void notifyPrevious(E oldElement, E newElement) {
-    PreviousListener.PreviousEvent<E> event
-        = new PreviousListener.PreviousEvent<>(this, oldElement, newElement);
-    previousListeners.forEach(l -> l.onPrevious(event));
+    if (hasListeners(PREVIOUS) || hasListeners(ELEMENT_CHANGE)) {
+      PreviousListener.PreviousEvent<E> event
+          = new PreviousListener.PreviousEvent<>(this, oldElement, newElement);
+      notifyElementChange(event);
+      fire(PREVIOUS, event, PreviousListener<E>::onPrevious);
+    }
   }
 
   /**
@@ -164,9 +204,12 @@ public abstract class AbstractObservableIterator<E>
    *     The current element after the iteration
    */
   protected void notifyNext(E oldElement, E newElement) {
-    NextListener.NextEvent<E> event
-        = new NextListener.NextEvent<>(this, oldElement, newElement);
-    nextListeners.forEach(l -> l.onNext(event));
+    if (hasListeners(NEXT) || hasListeners(ELEMENT_CHANGE)) {
+      NextListener.NextEvent<E> event
+          = new NextListener.NextEvent<>(this, oldElement, newElement);
+      notifyElementChange(event);
+      fire(NEXT, event, NextListener<E>::onNext);
+    }
   }
 
   /**
@@ -178,9 +221,12 @@ public abstract class AbstractObservableIterator<E>
    *     The current element after the iteration
    */
   protected void notifyMoveTo(E oldElement, E newElement) {
-    MoveToListener.MoveToEvent<E> event
-        = new MoveToListener.MoveToEvent<>(this, oldElement, newElement);
-    moveToListeners.forEach(l -> l.onMoveTo(event));
+    if (hasListeners(MOVE_TO) || hasListeners(ELEMENT_CHANGE)) {
+      MoveToListener.MoveToEvent<E> event
+          = new MoveToListener.MoveToEvent<>(this, oldElement, newElement);
+      notifyElementChange(event);
+      fire(MOVE_TO, event, MoveToListener<E>::onMoveTo);
+    }
   }
 
   /**
@@ -192,9 +238,12 @@ public abstract class AbstractObservableIterator<E>
    *     The current element after the iteration
    */
   protected void notifySkip(E oldElement, E newElement) {
-    SkipListener.SkipEvent<E> event
-        = new SkipListener.SkipEvent<>(this, oldElement, newElement);
-    skipListeners.forEach(l -> l.onSkip(event));
+    if (hasListeners(SKIP) || hasListeners(ELEMENT_CHANGE)) {
+      SkipListener.SkipEvent<E> event
+          = new SkipListener.SkipEvent<>(this, oldElement, newElement);
+      notifyElementChange(event);
+      fire(SKIP, event, SkipListener<E>::onSkip);
+    }
   }
 
   /**
@@ -205,7 +254,77 @@ public abstract class AbstractObservableIterator<E>
    */
   protected void notifyElementChange(IterationListener.IterationEvent<E> event) {
     if (!Objects.equals(event.getPrevious(), event.getCurrent())) {
-      elementChangeListeners.forEach(l -> l.onElementChange(event));
+      fire(ELEMENT_CHANGE, event, ElementChangeListener<E>::onElementChange);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <L> ListenerRegistry<L> getRegistry(int type, boolean create) {
+    if (registries == null) {
+      if (!create) {
+        return null;
+      }
+      registries = new ListenerRegistry<?>[LISTENER_TYPES];
+    }
+    if (registries[type] == null && create) {
+      registries[type] = new ListenerRegistry<>();
+    }
+    return (ListenerRegistry<L>) registries[type];
+  }
+
+  private <L> boolean addListener(int type, L listener) {
+    Objects.requireNonNull(listener, "Listener may not be null");
+    return this.<L>getRegistry(type, true).add(listener);
+  }
+
+  private <L> boolean removeListener(int type, L listener) {
+    Objects.requireNonNull(listener, "Listener may not be null");
+    ListenerRegistry<L> registry = getRegistry(type, false);
+    return registry != null && registry.remove(listener);
+  }
+
+  private boolean hasListeners(int type) {
+    ListenerRegistry<?> registry = getRegistry(type, false);
+    return registry != null && !registry.isEmpty();
+  }
+
+  private <L, V> void fire(int type, V event, BiConsumer<? super L, ? super V> dispatcher) {
+    ListenerRegistry<L> registry = getRegistry(type, false);
+    if (registry != null) {
+      registry.fire(event, dispatcher);
+    }
+  }
+
+  private final class ListenerView<L> extends AbstractCollection<L> implements Serializable {
+
+    private final int type;
+
+    private ListenerView(int type) {
+      this.type = type;
+    }
+
+    @Override
+    public boolean add(L listener) {
+      return addListener(type, listener);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object listener) {
+      return listener != null && removeListener(type, (L) listener);
+    }
+
+    @Override
+    public Iterator<L> iterator() {
+      ListenerRegistry<L> registry = getRegistry(type, false);
+      return registry != null ? registry.asCollection().iterator()
+                              : Collections.<L>emptyIterator();
+    }
+
+    @Override
+    public int size() {
+      ListenerRegistry<L> registry = getRegistry(type, false);
+      return registry != null ? registry.size() : 0;
     }
   }
 }
@@ -1,76 +1,218 @@
 package org.vaadin.addons.md_stepper.state;
 
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.BitSet;
 import java.util.Objects;
-import java.util.Optional;
 
 /**
- * Tracker to track the state of elements.
- *
- * @param <E>
- *     The type of elements to track the state for
+ * Tracker to track the state of elements by their position.
+ * <p>
+ * The states are kept in a bit set and the number of visited elements is counted along, so checking
+ * for completion and finding the next unvisited element do not need to look at every element.
  *
  * @see State
  */
-public class StateTracker<E extends Serializable> implements Serializable {
+public class StateTracker implements Serializable {
+
+  private final BitSet visited;
 
-  private final Map<E, State> states;
+  private int size;
+  private int visitedCount;
 
   /**
    * Construct a new tracker.
    */
   public StateTracker() {
-    this.states = new HashMap<>();
+    this.visited = new BitSet();
   }
 
   /**
    * Remove all elements and states from the tracker.
    */
   public void clear() {
-    states.clear();
+    visited.clear();
+    size = 0;
+    visitedCount = 0;
+  }
+
+  /**
+   * Get the number of tracked elements.
+   *
+   * @return The number of elements
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the number of visited elements.
+   *
+   * @return The number of visited elements
+   */
+  public int getVisitedCount() {
+    return visitedCount;
+  }
+
+  /**
+   * Check if all tracked elements have been visited.
+   *
+   * @return <code>true</code> if all elements are visited, <code>false</code> else
+   */
+  public boolean isComplete() {
+    return visitedCount == size;
+  }
+
+  /**
+   * Insert a new, unvisited element at the given position. The states of the elements at and after
+   * the position are shifted by one.
+   *
+   * @param position
+   *     The position to insert the element at
+   */
+  public void insert(int position) {
+    insert(position, 1);
+  }
+
+  /**
+   * Insert the given number of new, unvisited elements at the given position. The states of the
+   * elements at and after the position are shifted by the number of inserted elements.
+   *
+   * @param position
+   *     The position to insert the elements at
+   * @param count
+   *     The number of elements to insert
+   */
+  public void insert(int position, int count) {
+    checkPosition(position, size + 1);
+    if (count < 0) {
+      throw new IllegalArgumentException("Count may not be negative");
+    }
+
+    BitSet tail = visited.get(position, size);
+    visited.clear(position, size + count);
+    for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+      visited.set(position + count + i);
+    }
+    size += count;
   }
 
   /**
-   * Set the state of an element. Triggers a state change event if the state changed.
+   * Remove the element at the given position from the state tracker. The states of the elements
+   * after the position are shifted by one.
    *
-   * @param element
-   *     The element to set the state for
+   * @param position
+   *     The position of the element to remove
+   */
+  public void remove(int position) {
+    checkPosition(position, size);
+
+    if (visited.get(position)) {
+      visitedCount--;
+    }
+
+    BitSet tail = visited.get(position + 1, size);
+    visited.clear(position, size);
+    for (int i = tail.nextSetBit(0); i >= 0; i = tail.nextSetBit(i + 1)) {
+      visited.set(position + i);
+    }
+    size--;
+  }
+
+  /**
+   * Remove the elements at the given positions from the state tracker in a single pass. The states
+   * of the remaining elements are moved together, keeping their order.
+   *
+   * @param positions
+   *     The positions of the elements to remove
+   */
+  public void removeAll(BitSet positions) {
+    Objects.requireNonNull(positions, "Positions may not be null");
+    if (positions.isEmpty()) {
+      return;
+    }
+    checkPosition(positions.length() - 1, size);
+
+    BitSet remaining = new BitSet(size);
+    int target = 0;
+    for (int position = 0; position < size; position++) {
+      if (positions.get(position)) {
+        if (visited.get(position)) {
+          visitedCount--;
+        }
+      } else {
+        if (visited.get(position)) {
+          remaining.set(target);
+        }
+        target++;
+      }
+    }
+
+    visited.clear();
+    visited.or(remaining);
+    size = target;
+  }
+
+  /**
+   * Set the state of the element at the given position.
+   *
+   * @param position
+   *     The position of the element to set the state for
    * @param state
    *     The state to set
    */
-  public void setState(E element, State state) {
-    Objects.requireNonNull(element, "Element may not be null");
+  public void setState(int position, State state) {
+    checkPosition(position, size);
     Objects.requireNonNull(state, "State may not be null");
 
-    State oldState = getState(element);
-    if (!Objects.equals(oldState, state)) {
-      states.put(element, state);
+    boolean visit = state == State.VISITED;
+    if (visited.get(position) != visit) {
+      visited.set(position, visit);
+      visitedCount += visit ? 1 : -1;
     }
   }
 
   /**
-   * Get the state of an element.
+   * Get the state of the element at the given position.
    *
-   * @param element
-   *     The element to get the state for
+   * @param position
+   *     The position of the element to get the state for
    *
    * @return The state of the element
    */
-  public State getState(E element) {
-    Objects.requireNonNull(element, "Element may not be null");
-    return Optional.ofNullable(states.get(element)).orElse(State.UNVISITED);
+  public State getState(int position) {
+    return isVisited(position) ? State.VISITED : State.UNVISITED;
+  }
+
+  /**
+   * Check if the element at the given position has been visited.
+   *
+   * @param position
+   *     The position of the element to check
+   *
+   * @return <code>true</code> if the element is visited, <code>false</code> else
+   */
+  public boolean isVisited(int position) {
+    checkPosition(position, size);
+    return visited.get(position);
   }
 
   /**
-   * Remove the specified element from the state tracker.
+   * Get the position of the first unvisited element at or after the given position.
+   *
+   * @param fromPosition
+   *     The position to start the search at
    *
-   * @param element
-   *     The element to remove
+   * @return The position of the unvisited element or <code>-1</code> if there is no such element
    */
-  public void remove(E element) {
-    states.remove(element);
+  public int nextUnvisited(int fromPosition) {
+    int position = visited.nextClearBit(Math.max(fromPosition, 0));
+    return position < size ? position : -1;
+  }
+
+  private void checkPosition(int position, int bound) {
+    if (position < 0 || position >= bound) {
+      throw new IndexOutOfBoundsException("Position: " + position + ", Size: " + size);
+    }
   }
 
   /**
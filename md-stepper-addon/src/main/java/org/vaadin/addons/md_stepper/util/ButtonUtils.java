@@ -0,0 +1,52 @@
+package org.vaadin.addons.md_stepper.util;
+
+import com.vaadin.ui.Button;
+import com.vaadin.ui.themes.ValoTheme;
+
+/**
+ * Helper methods for creating the navigation buttons of steps and steppers.
+ */
+public final class ButtonUtils {
+
+  private ButtonUtils() {
+    // Prevent instantiation
+  }
+
+  /**
+   * Create a new back button.
+   *
+   * @return The back button
+   */
+  public static Button createBackButton() {
+    return new Button("Back");
+  }
+
+  /**
+   * Create a new next button.
+   *
+   * @return The next button
+   */
+  public static Button createNextButton() {
+    Button button = new Button("Next");
+    button.addStyleName(ValoTheme.BUTTON_PRIMARY);
+    return button;
+  }
+
+  /**
+   * Create a new skip button.
+   *
+   * @return The skip button
+   */
+  public static Button createSkipButton() {
+    return new Button("Skip");
+  }
+
+  /**
+   * Create a new cancel button.
+   *
+   * @return The cancel button
+   */
+  public static Button createCancelButton() {
+    return new Button("Cancel");
+  }
+}
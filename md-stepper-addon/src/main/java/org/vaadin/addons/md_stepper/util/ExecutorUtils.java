@@ -0,0 +1,40 @@
+package org.vaadin.addons.md_stepper.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Helper methods for working with executors.
+ */
+public final class ExecutorUtils {
+
+  private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
+  private ExecutorUtils() {
+    // Prevent instantiation
+  }
+
+  /**
+   * Get the executor used for background work of steppers if no other executor is configured.
+   * <p>
+   * Uses a virtual thread per task if the runtime supports virtual threads and the common fork join
+   * pool otherwise.
+   *
+   * @return The executor
+   */
+  public static Executor getDefaultExecutor() {
+    return DEFAULT_EXECUTOR;
+  }
+
+  private static Executor createDefaultExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return ForkJoinPool.commonPool();
+    }
+  }
+}
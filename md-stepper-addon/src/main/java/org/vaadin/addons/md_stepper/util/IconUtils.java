@@ -0,0 +1,45 @@
+package org.vaadin.addons.md_stepper.util;
+
+import com.vaadin.server.FontIcon;
+
+import org.vaadin.addons.md_stepper.component.TextIcon;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Helper methods for working with icons.
+ * <p>
+ * The rendered html of constant icons (e.g. {@link com.vaadin.icons.VaadinIcons}) is cached for the
+ * whole application, so labels in all sessions share the same strings instead of rendering them on
+ * every response.
+ */
+public final class IconUtils {
+
+  private static final Map<FontIcon, String> HTML_CACHE = new ConcurrentHashMap<>();
+
+  private IconUtils() {
+    // Prevent instantiation
+  }
+
+  /**
+   * Get the html of the given icon.
+   * <p>
+   * The html of enum constants is rendered once and cached, {@link TextIcon}s provide their own
+   * pre-rendered html and all other icons are rendered on every call.
+   *
+   * @param icon
+   *     The icon to get the html for
+   *
+   * @return The html of the icon or <code>null</code> if the icon is <code>null</code>
+   */
+  public static String getHtml(FontIcon icon) {
+    if (icon == null) {
+      return null;
+    }
+    if (icon instanceof Enum) {
+      return HTML_CACHE.computeIfAbsent(icon, FontIcon::getHtml);
+    }
+    return icon.getHtml();
+  }
+}
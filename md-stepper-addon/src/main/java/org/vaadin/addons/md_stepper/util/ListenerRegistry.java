@@ -0,0 +1,206 @@
+package org.vaadin.addons.md_stepper.util;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact registry of listeners.
+ * <p>
+ * The listeners are stored in a copy-on-write array that is only allocated once the first listener
+ * is added. Listeners are kept in the order of their registration and are unique (based on
+ * {@link Object#equals(Object)}). Listeners added or removed while an event is dispatched will
+ * not be affected by that dispatch. Use {@link #isEmpty()} to skip creating an event if nobody
+ * listens to it.
+ *
+ * @param <L>
+ *     The type of the listeners
+ */
+public final class ListenerRegistry<L> implements Serializable {
+
+  private static final Object[] EMPTY = new Object[0];
+
+  private Object[] listeners = EMPTY;
+
+  /**
+   * Add the given listener.
+   *
+   * @param listener
+   *     The listener to add
+   *
+   * @return <code>true</code> if the listener has been added, <code>false</code> if it was already
+   * registered
+   */
+  public boolean add(L listener) {
+    Objects.requireNonNull(listener, "Listener may not be null");
+    if (indexOf(listener) >= 0) {
+      return false;
+    }
+    Object[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+    updated[listeners.length] = listener;
+    listeners = updated;
+    return true;
+  }
+
+  /**
+   * Remove the given listener.
+   *
+   * @param listener
+   *     The listener to remove
+   *
+   * @return <code>true</code> if the listener has been removed, <code>false</code> if it was not
+   * registered
+   */
+  public boolean remove(L listener) {
+    Objects.requireNonNull(listener, "Listener may not be null");
+    int index = indexOf(listener);
+    if (index < 0) {
+      return false;
+    }
+    if (listeners.length == 1) {
+      listeners = EMPTY;
+      return true;
+    }
+    Object[] updated = new Object[listeners.length - 1];
+    System.arraycopy(listeners, 0, updated, 0, index);
+    System.arraycopy(listeners, index + 1, updated, index, updated.length - index);
+    listeners = updated;
+    return true;
+  }
+
+  /**
+   * Check if the given listener is registered.
+   *
+   * @param listener
+   *     The listener to check
+   *
+   * @return <code>true</code> if the listener is registered, <code>false</code> otherwise
+   */
+  public boolean contains(L listener) {
+    return listener != null && indexOf(listener) >= 0;
+  }
+
+  /**
+   * Check if no listener is registered.
+   *
+   * @return <code>true</code> if no listener is registered, <code>false</code> otherwise
+   */
+  public boolean isEmpty() {
+    return listeners.length == 0;
+  }
+
+  /**
+   * Get the number of registered listeners.
+   *
+   * @return The number of listeners
+   */
+  public int size() {
+    return listeners.length;
+  }
+
+  /**
+   * Dispatch the given event to all registered listeners.
+   *
+   * @param event
+   *     The event to dispatch
+   * @param dispatcher
+   *     The function that passes the event to a listener
+   * @param <E>
+   *     The type of the event
+   */
+  @SuppressWarnings("unchecked")
+  public <E> void fire(E event, BiConsumer<? super L, ? super E> dispatcher) {
+    Object[] snapshot = listeners;
+    for (int i = 0; i < snapshot.length; i++) {
+      dispatcher.accept((L) snapshot[i], event);
+    }
+  }
+
+  /**
+   * Get a live view of the registered listeners as collection.
+   * <p>
+   * Adding to or removing from the view registers or unregisters the listener, iterating the view
+   * iterates over the listeners registered when the iteration started.
+   *
+   * @return The view of the listeners
+   */
+  public Collection<L> asCollection() {
+    return new CollectionView();
+  }
+
+  private int indexOf(Object listener) {
+    Object[] snapshot = listeners;
+    for (int i = 0; i < snapshot.length; i++) {
+      if (listener.equals(snapshot[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private final class CollectionView extends AbstractCollection<L> implements Serializable {
+
+    @Override
+    public boolean add(L listener) {
+      return ListenerRegistry.this.add(listener);
+    }
+
+    @Override
+    public boolean remove(Object listener) {
+      return listener != null && removeListener(listener);
+    }
+
+    @Override
+    public boolean contains(Object listener) {
+      return listener != null && indexOf(listener) >= 0;
+    }
+
+    @Override
+    public int size() {
+      return listeners.length;
+    }
+
+    @Override
+    public Iterator<L> iterator() {
+      Object[] snapshot = listeners;
+      return new Iterator<L>() {
+        private int index;
+        private boolean removable;
+
+        @Override
+        public boolean hasNext() {
+          return index < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public L next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          removable = true;
+          return (L) snapshot[index++];
+        }
+
+        @Override
+        public void remove() {
+          if (!removable) {
+            throw new IllegalStateException();
+          }
+          removable = false;
+          removeListener(snapshot[index - 1]);
+        }
+      };
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean removeListener(Object listener) {
+      return ListenerRegistry.this.remove((L) listener);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package org.vaadin.addons.md_stepper;
+
+import com.vaadin.ui.Label;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ContentRetentionPolicyTest {
+
+  private Step first;
+  private Step second;
+  private Step third;
+
+  @Before
+  public void setUp() {
+    first = createStep();
+    second = createStep();
+    third = createStep();
+  }
+
+  @Test
+  public void keepAllReleasesNothing() {
+    Collection<Step> recent = recent(first, second, third);
+
+    assertEquals(Collections.emptyList(), ContentRetentionPolicy.keepAll().apply(recent, third));
+    assertEquals(3, recent.size());
+  }
+
+  @Test
+  public void keepLastVisitedReleasesLeastRecentSteps() {
+    Collection<Step> recent = recent(first, second, third);
+
+    assertEquals(Arrays.asList(first),
+                 ContentRetentionPolicy.keepLastVisited(2).apply(recent, third));
+    assertEquals(Arrays.asList(second, third), Arrays.asList(recent.toArray()));
+    assertFalse(first.isContentMaterialized());
+    assertTrue(second.isContentMaterialized());
+  }
+
+  @Test
+  public void keepLastVisitedNeverReleasesActiveStep() {
+    Collection<Step> recent = recent(first, second, third);
+
+    assertEquals(Arrays.asList(second, third),
+                 ContentRetentionPolicy.keepLastVisited(1).apply(recent, first));
+    assertEquals(Arrays.asList(first), Arrays.asList(recent.toArray()));
+    assertTrue(first.isContentMaterialized());
+  }
+
+  @Test
+  public void keepLastVisitedCountsActiveStepNotYetRetained() {
+    Collection<Step> recent = recent(first, second);
+
+    assertEquals(Arrays.asList(first),
+                 ContentRetentionPolicy.keepLastVisited(2).apply(recent, third));
+    assertEquals(Arrays.asList(second), Arrays.asList(recent.toArray()));
+  }
+
+  @Test
+  public void stepsWithoutBuiltContentAreNotReported() {
+    Step unbuilt = new Step(false);
+    unbuilt.setContentFactory(() -> new Label("Unbuilt"));
+    Collection<Step> recent = recent(unbuilt, first, second);
+
+    assertEquals(Arrays.asList(first),
+                 ContentRetentionPolicy.keepLastVisited(1).apply(recent, second));
+    assertEquals(Arrays.asList(second), Arrays.asList(recent.toArray()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void keepLastVisitedRejectsCountBelowOne() {
+    ContentRetentionPolicy.keepLastVisited(0);
+  }
+
+  private static Step createStep() {
+    Step step = new Step(false);
+    step.setContentFactory(() -> new Label("Content"));
+    step.getContent();
+    return step;
+  }
+
+  private static Collection<Step> recent(Step... steps) {
+    return new LinkedHashSet<>(Arrays.asList(steps));
+  }
+}
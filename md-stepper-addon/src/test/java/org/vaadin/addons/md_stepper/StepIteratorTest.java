@@ -0,0 +1,233 @@
+package org.vaadin.addons.md_stepper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class StepIteratorTest {
+
+  private Stepper stepper;
+  private Step first;
+  private Step second;
+  private Step third;
+
+  @Before
+  public void setUp() {
+    stepper = mock(Stepper.class);
+    first = new Step(false);
+    second = new Step(false);
+    third = new Step(false);
+  }
+
+  @Test
+  public void linearOnlyAllowsNextOpenStepAfterCompletion() {
+    StepIterator iterator = createIterator(true);
+    iterator.next();
+
+    assertTrue(iterator.hasNext());
+    assertFalse(iterator.hasMoveTo(second));
+    assertFalse(iterator.hasMoveTo(third));
+
+    first.notifyComplete(stepper);
+
+    assertTrue(iterator.hasMoveTo(second));
+    assertFalse(iterator.hasMoveTo(third));
+  }
+
+  @Test
+  public void nonLinearAllowsAllOpenSteps() {
+    StepIterator iterator = createIterator(false);
+    iterator.next();
+
+    assertTrue(iterator.hasNext());
+    assertTrue(iterator.hasMoveTo(second));
+    assertTrue(iterator.hasMoveTo(third));
+    assertFalse(iterator.hasMoveTo(first));
+  }
+
+  @Test
+  public void visitedStepIsOnlyReachableIfEditable() {
+    StepIterator iterator = createIterator(false);
+    iterator.next();
+    first.notifyComplete(stepper);
+    iterator.next();
+
+    assertFalse(iterator.hasMoveTo(first));
+    assertFalse(iterator.hasPrevious());
+
+    first.setEditable(true);
+
+    assertTrue(iterator.hasMoveTo(first));
+    assertTrue(iterator.hasPrevious());
+  }
+
+  @Test
+  public void noNextStepIfAllStepsAreComplete() {
+    StepIterator iterator = createIterator(true);
+    iterator.next();
+    first.notifyComplete(stepper);
+    second.notifyComplete(stepper);
+    third.notifyComplete(stepper);
+
+    assertTrue(iterator.isComplete());
+    assertFalse(iterator.hasNext());
+    assertFalse(iterator.hasMoveTo(second));
+  }
+
+  @Test
+  public void addInsertsAfterCurrentStep() {
+    StepIterator iterator = createIterator(true);
+    iterator.next();
+    first.notifyComplete(stepper);
+    Step added = new Step(false);
+
+    iterator.add(added);
+
+    assertEquals(Arrays.asList(first, added, second, third), iterator.getSteps());
+    assertEquals(1, iterator.indexOf(added));
+    assertEquals(2, iterator.indexOf(second));
+    assertTrue(iterator.isStepComplete(first));
+    assertFalse(iterator.isStepComplete(added));
+    assertSame(added, iterator.getSteps().get(iterator.nextIndex()));
+  }
+
+  @Test
+  public void addAllWithoutCurrentStepAppends() {
+    StepIterator iterator = createIterator(false);
+    Step added = new Step(false);
+
+    iterator.addAll(Arrays.asList(added));
+
+    assertEquals(3, iterator.indexOf(added));
+  }
+
+  @Test
+  public void replaceAllInsertingBeforeCurrentKeepsState() {
+    StepIterator iterator = createIterator(true);
+    iterator.next();
+    first.notifyComplete(stepper);
+    iterator.next();
+    Step added = new Step(false);
+
+    iterator.replaceAll(Arrays.asList(added, first, second, third));
+
+    assertSame(second, iterator.getCurrent());
+    assertEquals(2, iterator.indexOf(second));
+    assertTrue(iterator.isStepComplete(first));
+    assertFalse(iterator.isStepComplete(added));
+  }
+
+  @Test
+  public void removeBeforeCurrentStepKeepsCurrent() {
+    StepIterator iterator = createIterator(false);
+    iterator.next();
+    iterator.moveTo(third);
+
+    iterator.removeAll(Arrays.asList(first));
+
+    assertSame(third, iterator.getCurrent());
+    assertEquals(1, iterator.indexOf(third));
+    assertEquals(-1, iterator.indexOf(first));
+  }
+
+  @Test
+  public void removeAfterCurrentStepKeepsCurrent() {
+    StepIterator iterator = createIterator(false);
+    iterator.next();
+
+    iterator.removeAll(Arrays.asList(third));
+
+    assertSame(first, iterator.getCurrent());
+    assertEquals(2, iterator.getSteps().size());
+  }
+
+  @Test
+  public void removeCurrentStepMovesToNextStep() {
+    StepIterator iterator = createIterator(false);
+    iterator.next();
+    iterator.moveTo(second);
+
+    iterator.removeAll(Arrays.asList(second));
+
+    assertSame(third, iterator.getCurrent());
+    assertEquals(1, iterator.indexOf(third));
+  }
+
+  @Test
+  public void removeCurrentStepWithoutNextStepResets() {
+    StepIterator iterator = createIterator(true);
+    iterator.next();
+    first.notifyComplete(stepper);
+    second.notifyComplete(stepper);
+
+    iterator.removeAll(Arrays.asList(first, third));
+
+    assertNull(iterator.getCurrent());
+    assertEquals(Arrays.asList(second), iterator.getSteps());
+  }
+
+  @Test
+  public void removeKeepsStateOfRemainingSteps() {
+    StepIterator iterator = createIterator(false);
+    iterator.next();
+    third.notifyComplete(stepper);
+
+    iterator.removeAll(Arrays.asList(second));
+
+    assertTrue(iterator.isStepComplete(third));
+    assertFalse(iterator.isStepComplete(first));
+  }
+
+  @Test
+  public void removeAllReportsRemovedRanges() {
+    Step fourth = new Step(false);
+    StepIterator iterator = new StepIterator(Arrays.asList(first, second, third, fourth), false);
+    List<int[]> ranges = new ArrayList<>();
+    iterator.addElementsChangeListener(event -> ranges.addAll(event.getRemovedRanges()));
+
+    iterator.removeAll(Arrays.asList(first, second, fourth));
+
+    assertEquals(2, ranges.size());
+    assertEquals(0, ranges.get(0)[0]);
+    assertEquals(2, ranges.get(0)[1]);
+    assertEquals(3, ranges.get(1)[0]);
+    assertEquals(4, ranges.get(1)[1]);
+  }
+
+  @Test
+  public void elementChangeListenerIsNotifiedWithoutIterationListeners() {
+    StepIterator iterator = createIterator(false);
+    List<Step> changes = new ArrayList<>();
+    iterator.addElementChangeListener(event -> changes.add(event.getCurrent()));
+
+    iterator.next();
+    iterator.moveTo(third);
+    iterator.previous();
+
+    assertEquals(Arrays.asList(first, third, second), changes);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void replaceAllRejectsDuplicates() {
+    createIterator(false).replaceAll(Arrays.asList(first, second, first));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void addAllRejectsContainedSteps() {
+    createIterator(false).addAll(Arrays.asList(second));
+  }
+
+  private StepIterator createIterator(boolean linear) {
+    return new StepIterator(Arrays.asList(first, second, third), linear);
+  }
+}
@@ -0,0 +1,76 @@
+package org.vaadin.addons.md_stepper.collection;
+
+import org.junit.Test;
+import org.vaadin.addons.md_stepper.collection.ElementsChangeListener.ElementsChangeEvent;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ElementsChangeEventTest {
+
+  private final List<String> collection = Arrays.asList("a", "b", "c");
+
+  @Test
+  public void noRangesWithoutRemovedElements() {
+    ElementsChangeEvent<String> event = removed();
+
+    assertTrue(event.getRemovedRanges().isEmpty());
+  }
+
+  @Test
+  public void singleRemovedElementFormsRange() {
+    List<int[]> ranges = removed(4).getRemovedRanges();
+
+    assertEquals(1, ranges.size());
+    assertArrayEquals(new int[]{4, 5}, ranges.get(0));
+  }
+
+  @Test
+  public void adjacentIndicesAreMergedIntoOneRange() {
+    List<int[]> ranges = removed(0, 1, 2, 5, 7, 8).getRemovedRanges();
+
+    assertEquals(3, ranges.size());
+    assertArrayEquals(new int[]{0, 3}, ranges.get(0));
+    assertArrayEquals(new int[]{5, 6}, ranges.get(1));
+    assertArrayEquals(new int[]{7, 9}, ranges.get(2));
+  }
+
+  @Test
+  public void removedIndicesAreCopied() {
+    int[] indices = {1, 2};
+    ElementsChangeEvent<String> event = new ElementsChangeEvent<>(
+        collection, Collections.emptyList(), 0, Arrays.asList("x", "y"), indices);
+
+    indices[0] = 0;
+    event.getRemovedIndices()[1] = 0;
+
+    assertArrayEquals(new int[]{1, 2}, event.getRemovedIndices());
+  }
+
+  @Test
+  public void addedRangeFollowsAddedElements() {
+    ElementsChangeEvent<String> event = new ElementsChangeEvent<>(
+        collection, Arrays.asList("b", "c"), 1, Collections.emptyList(), new int[0]);
+
+    assertEquals(1, event.getAddedFromIndex());
+    assertEquals(3, event.getAddedToIndex());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void indexRequiredForEveryRemovedElement() {
+    new ElementsChangeEvent<>(collection, Collections.emptyList(), 0, Arrays.asList("x", "y"),
+                              new int[]{0});
+  }
+
+  private ElementsChangeEvent<String> removed(int... indices) {
+    String[] elements = new String[indices.length];
+    Arrays.fill(elements, "x");
+    return new ElementsChangeEvent<>(collection, Collections.emptyList(), 0,
+                                     Arrays.asList(elements), indices);
+  }
+}
@@ -0,0 +1,113 @@
+package org.vaadin.addons.md_stepper.state;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vaadin.addons.md_stepper.state.StateTracker.State;
+
+import java.util.BitSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StateTrackerTest {
+
+  private StateTracker tracker;
+
+  @Before
+  public void setUp() {
+    // State: VISITED, UNVISITED, VISITED
+    tracker = new StateTracker();
+    tracker.insert(0, 3);
+    tracker.setState(0, State.VISITED);
+    tracker.setState(2, State.VISITED);
+  }
+
+  @Test
+  public void insertBeforeVisitedShiftsState() {
+    tracker.insert(0);
+
+    assertEquals(4, tracker.size());
+    assertStates(false, true, false, true);
+    assertEquals(2, tracker.getVisitedCount());
+  }
+
+  @Test
+  public void insertAtVisitedShiftsState() {
+    tracker.insert(2);
+
+    assertStates(true, false, false, true);
+  }
+
+  @Test
+  public void insertAfterVisitedKeepsState() {
+    tracker.insert(3);
+
+    assertStates(true, false, true, false);
+  }
+
+  @Test
+  public void insertMultipleShiftsStateByCount() {
+    tracker.insert(1, 2);
+
+    assertStates(true, false, false, false, true);
+    assertEquals(2, tracker.getVisitedCount());
+  }
+
+  @Test
+  public void removeBeforeVisitedShiftsState() {
+    tracker.remove(1);
+
+    assertStates(true, true);
+    assertEquals(2, tracker.getVisitedCount());
+  }
+
+  @Test
+  public void removeVisitedUpdatesVisitedCount() {
+    tracker.remove(2);
+
+    assertStates(true, false);
+    assertEquals(1, tracker.getVisitedCount());
+  }
+
+  @Test
+  public void removeAllCompactsRemainingStates() {
+    tracker.insert(3, 2);
+    tracker.setState(4, State.VISITED);
+    BitSet positions = new BitSet();
+    positions.set(0);
+    positions.set(3);
+
+    tracker.removeAll(positions);
+
+    assertStates(false, true, true);
+    assertEquals(2, tracker.getVisitedCount());
+  }
+
+  @Test
+  public void completeIfAllVisited() {
+    assertFalse(tracker.isComplete());
+
+    tracker.setState(1, State.VISITED);
+
+    assertTrue(tracker.isComplete());
+  }
+
+  @Test
+  public void nextUnvisitedSkipsVisited() {
+    assertEquals(1, tracker.nextUnvisited(0));
+    assertEquals(-1, tracker.nextUnvisited(2));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void insertOutOfRangeFails() {
+    tracker.insert(4);
+  }
+
+  private void assertStates(boolean... visited) {
+    assertEquals(visited.length, tracker.size());
+    for (int position = 0; position < visited.length; position++) {
+      assertEquals("Position " + position, visited[position], tracker.isVisited(position));
+    }
+  }
+}